@@ -0,0 +1,73 @@
+package com.interview.candidateproject.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.candidateproject.CandidateProjectApplication;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import com.interview.candidateproject.service.OrderService;
+import com.interview.candidateproject.service.UserService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The application context (without the web server) running on a private copy
+ * of the seeded database. Size the data set with {@code -p orders=N}.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    @Param("10000")
+    public int orders;
+
+    public int users;
+
+    public OrderService orderService;
+
+    public UserService userService;
+
+    public UserRepository userRepository;
+
+    public ProductRepository productRepository;
+
+    public ObjectMapper objectMapper;
+
+    private ConfigurableApplicationContext context;
+
+    private Path database;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        database = BenchmarkDatabase.workingCopy(orders);
+        users = BenchmarkDatabase.userCount(orders);
+
+        // Arguments, not default properties, so they win over application.properties
+        context = new SpringApplicationBuilder(CandidateProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:sqlite:" + database,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+
+        orderService = context.getBean(OrderService.class);
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        productRepository = context.getBean(ProductRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        context.close();
+        Files.deleteIfExists(database);
+    }
+}
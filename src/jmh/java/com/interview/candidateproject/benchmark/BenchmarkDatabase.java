@@ -0,0 +1,244 @@
+package com.interview.candidateproject.benchmark;
+
+import org.flywaydb.core.Flyway;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded SQLite databases for the benchmarks.
+ * 
+ * One template file per data set size is migrated with the application's
+ * Flyway scripts and filled from a fixed random seed under
+ * {@code target/jmh} (override with {@code -Djmh.db.dir}). Every trial runs
+ * on a fresh copy of the template, so writes in one benchmark never change
+ * the data another one reads.
+ */
+final class BenchmarkDatabase {
+
+    static final long SEED = 20240101L;
+
+    static final int ORDERS_PER_USER = 10;
+
+    static final int ITEMS_PER_ORDER = 3;
+
+    static final int PRODUCT_COUNT = 200;
+
+    /** Seeded orders are spread evenly over the year from this date. */
+    static final LocalDateTime FIRST_ORDER_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    static final int ORDER_DAYS = 365;
+
+    private static final String[] CATEGORIES = {"Electronics", "Furniture", "Books", "Clothing", "Garden"};
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Bob", "Alice", "Carlos", "Mei", "Priya", "Omar"};
+
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Brown", "Garcia", "Chen", "Patel", "Haddad"};
+
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED"};
+
+    private static final int BATCH_SIZE = 1000;
+
+    /** Categories of the catalog-only data sets, see {@link #catalogCopy}. */
+    static final int CATALOG_CATEGORIES = 40;
+
+    private BenchmarkDatabase() {}
+
+    static int userCount(int orders) {
+        return Math.max(1, orders / ORDERS_PER_USER);
+    }
+
+    /**
+     * Returns a private copy of the seeded database for {@code orders} orders,
+     * building the template first if it does not exist yet.
+     */
+    static Path workingCopy(int orders) throws IOException, SQLException {
+        Path directory = Path.of(System.getProperty("jmh.db.dir", "target/jmh"));
+        Files.createDirectories(directory);
+
+        Path template = directory.resolve("seed-" + orders + ".db");
+        if (Files.notExists(template)) {
+            Path partial = directory.resolve("seed-" + orders + ".db.partial");
+            Files.deleteIfExists(partial);
+            seed(partial, orders);
+            Files.move(partial, template, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        Path copy = Files.createTempFile(directory, "trial-", ".db");
+        Files.copy(template, copy, StandardCopyOption.REPLACE_EXISTING);
+        return copy;
+    }
+
+    /**
+     * Returns a private copy of a database holding only {@code products}
+     * products, for the catalog benchmarks.
+     */
+    static Path catalogCopy(int products) throws IOException, SQLException {
+        Path directory = Path.of(System.getProperty("jmh.db.dir", "target/jmh"));
+        Files.createDirectories(directory);
+
+        Path template = directory.resolve("catalog-" + products + ".db");
+        if (Files.notExists(template)) {
+            Path partial = directory.resolve("catalog-" + products + ".db.partial");
+            Files.deleteIfExists(partial);
+            seedCatalog(partial, products);
+            Files.move(partial, template, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        Path copy = Files.createTempFile(directory, "trial-", ".db");
+        Files.copy(template, copy, StandardCopyOption.REPLACE_EXISTING);
+        return copy;
+    }
+
+    private static void seedCatalog(Path file, int products) throws SQLException {
+        String url = "jdbc:sqlite:" + file;
+        Flyway.configure()
+                .dataSource(url, null, null)
+                .locations("classpath:db/migration/sqlite")
+                .load()
+                .migrate();
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        try (Connection connection = DriverManager.getConnection(url)) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO products (id, name, description, price, stock_quantity, category, created_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int id = 1; id <= products; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, "Product " + id);
+                    insert.setString(3, "Seeded catalog product " + id);
+                    insert.setBigDecimal(4, BigDecimal.valueOf(random.nextInt(100, 200_000), 2));
+                    // About one product in ten is out of stock
+                    insert.setInt(5, random.nextInt(10) == 0 ? 0 : random.nextInt(1, 500));
+                    insert.setString(6, "Category " + random.nextInt(CATALOG_CATEGORIES));
+                    insert.setTimestamp(7, Timestamp.valueOf(FIRST_ORDER_DATE));
+                    insert.addBatch();
+                    if (id % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE products_seq SET next_val = (SELECT MAX(id) + 51 FROM products)");
+            }
+            connection.commit();
+        }
+    }
+
+    private static void seed(Path file, int orders) throws SQLException {
+        String url = "jdbc:sqlite:" + file;
+        Flyway.configure()
+                .dataSource(url, null, null)
+                .locations("classpath:db/migration/sqlite")
+                .load()
+                .migrate();
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        int users = userCount(orders);
+        BigDecimal[] prices = new BigDecimal[PRODUCT_COUNT + 1];
+
+        try (Connection connection = DriverManager.getConnection(url)) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO products (id, name, description, price, stock_quantity, category, created_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int id = 1; id <= PRODUCT_COUNT; id++) {
+                    prices[id] = BigDecimal.valueOf(random.nextInt(500, 200_000), 2);
+                    insert.setLong(1, id);
+                    insert.setString(2, "Product " + id);
+                    insert.setString(3, "Seeded benchmark product " + id);
+                    insert.setBigDecimal(4, prices[id]);
+                    // Deep stock so createOrder benchmarks never run a product out
+                    insert.setInt(5, 1_000_000 + random.nextInt(0, 500));
+                    insert.setString(6, CATEGORIES[id % CATEGORIES.length]);
+                    insert.setTimestamp(7, Timestamp.valueOf(FIRST_ORDER_DATE));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO users (id, username, email, first_name, last_name, created_at, updated_at, active) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int id = 1; id <= users; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, username(id));
+                    insert.setString(3, username(id) + "@example.com");
+                    insert.setString(4, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                    insert.setString(5, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                    insert.setTimestamp(6, Timestamp.valueOf(FIRST_ORDER_DATE));
+                    insert.setTimestamp(7, Timestamp.valueOf(FIRST_ORDER_DATE));
+                    insert.setBoolean(8, random.nextInt(10) > 0);
+                    insert.addBatch();
+                    if (id % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+
+            long minutesPerOrder = Math.max(1, ORDER_DAYS * 24L * 60 / orders);
+            long itemId = 0;
+            try (PreparedStatement order = connection.prepareStatement(
+                    "INSERT INTO orders (id, user_id, order_number, total_amount, order_status, order_date) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)");
+                 PreparedStatement item = connection.prepareStatement(
+                    "INSERT INTO order_items (id, order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?, ?)")) {
+                for (int id = 1; id <= orders; id++) {
+                    BigDecimal total = BigDecimal.ZERO;
+                    for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                        int productId = random.nextInt(1, PRODUCT_COUNT + 1);
+                        int quantity = random.nextInt(1, 5);
+                        total = total.add(prices[productId].multiply(BigDecimal.valueOf(quantity)));
+                        item.setLong(1, ++itemId);
+                        item.setLong(2, id);
+                        item.setLong(3, productId);
+                        item.setInt(4, quantity);
+                        item.setBigDecimal(5, prices[productId]);
+                        item.addBatch();
+                    }
+                    order.setLong(1, id);
+                    order.setLong(2, random.nextInt(1, users + 1));
+                    order.setString(3, "ORD-" + id);
+                    order.setBigDecimal(4, total);
+                    order.setString(5, STATUSES[random.nextInt(STATUSES.length)]);
+                    order.setTimestamp(6, Timestamp.valueOf(FIRST_ORDER_DATE.plusMinutes(id * minutesPerOrder)));
+                    order.addBatch();
+                    if (id % BATCH_SIZE == 0) {
+                        order.executeBatch();
+                        item.executeBatch();
+                    }
+                }
+                order.executeBatch();
+                item.executeBatch();
+            }
+
+            // Move the table-backed sequences past the seeded ids (see V1 and V4)
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE products_seq SET next_val = (SELECT MAX(id) + 51 FROM products)");
+                statement.executeUpdate("UPDATE users_seq SET next_val = (SELECT MAX(id) + 51 FROM users)");
+                statement.executeUpdate("UPDATE orders_seq SET next_val = (SELECT MAX(id) + 51 FROM orders)");
+                statement.executeUpdate("UPDATE order_items_seq SET next_val = (SELECT MAX(id) + 51 FROM order_items)");
+            }
+            connection.commit();
+        }
+    }
+
+    static String username(long userId) {
+        return "user" + userId;
+    }
+}
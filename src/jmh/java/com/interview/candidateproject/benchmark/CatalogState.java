@@ -0,0 +1,53 @@
+package com.interview.candidateproject.benchmark;
+
+import com.interview.candidateproject.CandidateProjectApplication;
+import com.interview.candidateproject.service.ProductCatalog;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The application context on a products-only database with the in-memory
+ * catalog loaded. Size the catalog with {@code -p products=N}.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    @Param("1000000")
+    public int products;
+
+    public ProductCatalog productCatalog;
+
+    private ConfigurableApplicationContext context;
+
+    private Path database;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        database = BenchmarkDatabase.catalogCopy(products);
+
+        context = new SpringApplicationBuilder(CandidateProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:sqlite:" + database,
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+
+        // Preloaded when the application became ready
+        productCatalog = context.getBean(ProductCatalog.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        context.close();
+        Files.deleteIfExists(database);
+    }
+}
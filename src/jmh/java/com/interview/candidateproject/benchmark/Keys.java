@@ -0,0 +1,42 @@
+package com.interview.candidateproject.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-thread lookup keys drawn from a fixed seed, so every run asks for the
+ * same sequence of users, products and dates.
+ */
+@State(Scope.Thread)
+public class Keys {
+
+    private static final AtomicLong THREADS = new AtomicLong();
+
+    private final long thread = THREADS.incrementAndGet();
+
+    private final SplittableRandom random = new SplittableRandom(BenchmarkDatabase.SEED + thread);
+
+    private long sequence;
+
+    public long userId(ApplicationState app) {
+        return random.nextLong(1, app.users + 1);
+    }
+
+    public long productId() {
+        return random.nextLong(1, BenchmarkDatabase.PRODUCT_COUNT + 1);
+    }
+
+    /** Start of a window inside the seeded order dates. */
+    public LocalDateTime orderDate(int windowDays) {
+        return BenchmarkDatabase.FIRST_ORDER_DATE.plusDays(random.nextInt(BenchmarkDatabase.ORDER_DAYS - windowDays));
+    }
+
+    /** A value no other thread or invocation in this JVM uses, for unique columns. */
+    public String unique(String prefix) {
+        return prefix + "-" + ProcessHandle.current().pid() + "-" + thread + "-" + (++sequence);
+    }
+}
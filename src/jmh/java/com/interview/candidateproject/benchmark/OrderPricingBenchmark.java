@@ -0,0 +1,73 @@
+package com.interview.candidateproject.benchmark;
+
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.service.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals a basket of {@code items} lines the old way, summing
+ * {@link OrderItem#getTotalPrice()} as {@link BigDecimal}s, and the way
+ * OrderPricingService does, in {@link Money} cents. Needs no database; run it
+ * with {@code -prof gc} to see the allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderPricingBenchmark {
+
+    @Param({"3", "100", "10000"})
+    public int items;
+
+    private List<OrderItem> basket;
+
+    private long[] unitCents;
+
+    private int[] quantities;
+
+    @Setup(Level.Trial)
+    public void createBasket() {
+        Random random = new Random(BenchmarkDatabase.SEED);
+        basket = new ArrayList<>(items);
+        unitCents = new long[items];
+        quantities = new int[items];
+        for (int i = 0; i < items; i++) {
+            BigDecimal unitPrice = BigDecimal.valueOf(random.nextInt(500, 200_000), 2);
+            int quantity = random.nextInt(1, 5);
+            basket.add(new OrderItem(null, null, quantity, unitPrice));
+            unitCents[i] = Money.toCents(unitPrice);
+            quantities[i] = quantity;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : basket) {
+            total = total.add(item.getTotalPrice());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal centsTotal() {
+        long total = 0;
+        for (int i = 0; i < unitCents.length; i++) {
+            total = Math.addExact(total, Money.lineTotal(unitCents[i], quantities[i]));
+        }
+        return Money.toAmount(total);
+    }
+}
@@ -0,0 +1,57 @@
+package com.interview.candidateproject.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON rendering of a page of full {@link Order} graphs (user, items and
+ * products) against the same orders as {@link OrderSummary} rows, using the
+ * application's {@code ObjectMapper}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderSerializationBenchmark {
+
+    private static final int PAGE_DAYS = 7;
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        List<Order> orders;
+
+        List<OrderSummary> summaries;
+
+        @Setup(Level.Trial)
+        public void load(ApplicationState app) {
+            LocalDateTime start = BenchmarkDatabase.FIRST_ORDER_DATE;
+            orders = app.orderService.getOrdersInDateRange(start, start.plusDays(PAGE_DAYS));
+            summaries = app.orderService.getOrderSummariesInDateRange(start, start.plusDays(PAGE_DAYS));
+            if (orders.isEmpty()) {
+                throw new IllegalStateException("No seeded orders in the first " + PAGE_DAYS + " days");
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrderGraphs(ApplicationState app, Page page) throws JsonProcessingException {
+        return app.objectMapper.writeValueAsBytes(page.orders);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderSummaries(ApplicationState app, Page page) throws JsonProcessingException {
+        return app.objectMapper.writeValueAsBytes(page.summaries);
+    }
+}
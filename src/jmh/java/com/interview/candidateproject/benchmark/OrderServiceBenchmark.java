@@ -0,0 +1,58 @@
+package com.interview.candidateproject.benchmark;
+
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order reads as entity graphs and as {@link OrderSummary} projections, and
+ * order creation with items.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderServiceBenchmark {
+
+    private static final int DATE_RANGE_DAYS = 7;
+
+    @Benchmark
+    public List<Order> getOrdersByUserId(ApplicationState app, Keys keys) {
+        return app.orderService.getOrdersByUserId(keys.userId(app));
+    }
+
+    @Benchmark
+    public List<OrderSummary> getOrderSummariesByUserId(ApplicationState app, Keys keys) {
+        return app.orderService.getOrderSummariesByUserId(keys.userId(app));
+    }
+
+    @Benchmark
+    public List<Order> getOrdersInDateRange(ApplicationState app, Keys keys) {
+        LocalDateTime start = keys.orderDate(DATE_RANGE_DAYS);
+        return app.orderService.getOrdersInDateRange(start, start.plusDays(DATE_RANGE_DAYS));
+    }
+
+    @Benchmark
+    public List<OrderSummary> getOrderSummariesInDateRange(ApplicationState app, Keys keys) {
+        LocalDateTime start = keys.orderDate(DATE_RANGE_DAYS);
+        return app.orderService.getOrderSummariesInDateRange(start, start.plusDays(DATE_RANGE_DAYS));
+    }
+
+    @Benchmark
+    public Order createOrder(ApplicationState app, Keys keys) {
+        // Unit prices and total are left to the server's catalog pricing
+        Order order = new Order(app.userRepository.getReferenceById(keys.userId(app)), keys.unique("BENCH"), null);
+        for (int i = 0; i < BenchmarkDatabase.ITEMS_PER_ORDER; i++) {
+            Product product = app.productRepository.getReferenceById(keys.productId());
+            order.getOrderItems().add(new OrderItem(order, product, 1, null));
+        }
+        return app.orderService.createOrder(order);
+    }
+}
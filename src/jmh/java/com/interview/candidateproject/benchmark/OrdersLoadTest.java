@@ -0,0 +1,223 @@
+package com.interview.candidateproject.benchmark;
+
+import com.interview.candidateproject.CandidateProjectApplication;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test of {@code GET /api/orders} for comparing the
+ * default platform-thread Tomcat pool with the {@code virtual-threads} profile.
+ * Run each mode in its own JVM:
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@load-test -Dload.mode=platform
+ * mvn -Pjmh test-compile exec:exec@load-test -Dload.mode=virtual -Dload.concurrency=5000
+ * </pre>
+ * With {@code -Dload.workload=write} each request instead creates an order
+ * ({@code POST /api/orders}) for a random user and product, to see how write
+ * throughput holds up as concurrency grows.
+ * Each of {@code concurrency} clients sends its next request as soon as the
+ * previous one completes. After a warm-up, the run reports throughput,
+ * latency percentiles, failures and the peak number of platform threads in
+ * the JVM (virtual threads are not counted).
+ */
+public final class OrdersLoadTest {
+
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+
+    private static final int PAGE_SIZE = 50;
+
+    private final HttpClient client;
+
+    private final URI baseUri;
+
+    private final int orders;
+
+    private final boolean writes;
+
+    private final Map<Long, BigDecimal> prices;
+
+    private final AtomicLong orderNumbers = new AtomicLong();
+
+    private final LongAdder failures = new LongAdder();
+
+    private Timer latency = newLatencyTimer();
+
+    private OrdersLoadTest(HttpClient client, URI baseUri, int orders, boolean writes, Map<Long, BigDecimal> prices) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.orders = orders;
+        this.writes = writes;
+        this.prices = prices;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4 || args.length > 5) {
+            System.err.println("Usage: OrdersLoadTest <platform|virtual> <concurrency> <seconds> <orders> [read|write]");
+            System.exit(2);
+        }
+        String mode = args[0];
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        int orders = Integer.parseInt(args[3]);
+        boolean writes = args.length == 5 && args[4].equals("write");
+
+        if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+            System.err.println("Virtual-thread mode needs Java 21 or newer (running " + Runtime.version() + ")");
+            System.exit(2);
+        }
+
+        Path database = BenchmarkDatabase.workingCopy(orders);
+        Map<Long, BigDecimal> prices = productPrices(database);
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:sqlite:" + database,
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        if (mode.equals("virtual")) {
+            applicationArgs.add("--spring.profiles.active=virtual-threads");
+        }
+
+        ConfigurableApplicationContext context =
+                SpringApplication.run(CandidateProjectApplication.class, applicationArgs.toArray(String[]::new));
+        // A small fixed pool so the client adds the same handful of threads in both modes
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(clientExecutor)
+                    .build();
+            OrdersLoadTest test = new OrdersLoadTest(client, URI.create("http://localhost:" + port), orders, writes, prices);
+
+            test.run(concurrency, WARM_UP);
+            test.reset();
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            test.run(concurrency, duration);
+
+            test.report(mode + (writes ? " workload=write" : ""), concurrency, duration, threads.getPeakThreadCount());
+        } finally {
+            clientExecutor.shutdownNow();
+            context.close();
+            Files.deleteIfExists(database);
+        }
+    }
+
+    private void run(int concurrency, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        CompletableFuture<?>[] clients = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            clients[i] = loop(new SplittableRandom(BenchmarkDatabase.SEED + i), deadline);
+        }
+        CompletableFuture.allOf(clients).join();
+    }
+
+    private CompletableFuture<Void> loop(SplittableRandom random, long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = writes ? createOrderRequest(random) : HttpRequest.newBuilder(
+                        baseUri.resolve("/api/orders?afterId=" + random.nextInt(orders) + "&limit=" + PAGE_SIZE))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        int expectedStatus = writes ? 201 : 200;
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    if (error != null || response.statusCode() != expectedStatus) {
+                        failures.increment();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(random, deadline));
+    }
+
+    private HttpRequest createOrderRequest(SplittableRandom random) {
+        long userId = random.nextInt(1, BenchmarkDatabase.userCount(orders) + 1);
+        long productId = random.nextInt(1, BenchmarkDatabase.PRODUCT_COUNT + 1);
+        int quantity = random.nextInt(1, 5);
+        String body = String.format(
+                "{\"user\":{\"id\":%d},\"orderNumber\":\"LOAD-%d\",\"totalAmount\":%s,"
+                        + "\"orderItems\":[{\"product\":{\"id\":%d},\"quantity\":%d}]}",
+                userId, orderNumbers.incrementAndGet(),
+                prices.get(productId).multiply(BigDecimal.valueOf(quantity)).toPlainString(), productId, quantity);
+        return HttpRequest.newBuilder(baseUri.resolve("/api/orders"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Map<Long, BigDecimal> productPrices(Path database) throws SQLException {
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, price FROM products")) {
+            while (rows.next()) {
+                prices.put(rows.getLong(1), rows.getBigDecimal(2));
+            }
+        }
+        return prices;
+    }
+
+    private void reset() {
+        failures.reset();
+        latency = newLatencyTimer();
+    }
+
+    private static Timer newLatencyTimer() {
+        return Timer.builder("load.latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(new SimpleMeterRegistry());
+    }
+
+    private void report(String mode, int concurrency, Duration duration, int peakThreads) {
+        HistogramSnapshot snapshot = latency.takeSnapshot();
+        System.out.printf("mode=%s concurrency=%d duration=%ds%n", mode, concurrency, duration.toSeconds());
+        System.out.printf("  requests     %d (%.1f/s)%n", snapshot.count(), snapshot.count() / (double) duration.toSeconds());
+        System.out.printf("  failures     %d%n", failures.sum());
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            System.out.printf("  p%-11s %.1f ms%n", Math.round(percentile.percentile() * 100),
+                    percentile.value(TimeUnit.MILLISECONDS));
+        }
+        System.out.printf("  max          %.1f ms%n", snapshot.max(TimeUnit.MILLISECONDS));
+        System.out.printf("  peak threads %d%n", peakThreads);
+    }
+}
@@ -0,0 +1,69 @@
+package com.interview.candidateproject.benchmark;
+
+import com.interview.candidateproject.dto.ProductSearchCriteria;
+import com.interview.candidateproject.dto.ProductSearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog browse queries with facet counts against the in-memory product
+ * catalog, one million products by default.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductCatalogBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Benchmark
+    public ProductSearchResult allProducts(CatalogState catalog) {
+        return catalog.productCatalog.search(new ProductSearchCriteria(null, null, null, false, null), 0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ProductSearchResult categoryInStock(CatalogState catalog, Filters filters) {
+        return catalog.productCatalog.search(
+                new ProductSearchCriteria(filters.category(), null, null, true, null), 0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ProductSearchResult categoryPriceRangeInStock(CatalogState catalog, Filters filters) {
+        BigDecimal from = filters.price();
+        return catalog.productCatalog.search(
+                new ProductSearchCriteria(filters.category(), from, from.add(BigDecimal.valueOf(150)), true, null),
+                0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ProductSearchResult nameText(CatalogState catalog, Filters filters) {
+        return catalog.productCatalog.search(
+                new ProductSearchCriteria(null, null, null, true, filters.nameFragment()), 0L, PAGE_SIZE);
+    }
+
+    /** Per-thread filter values drawn from a fixed seed. */
+    @State(Scope.Thread)
+    public static class Filters {
+
+        private final SplittableRandom random = new SplittableRandom(BenchmarkDatabase.SEED);
+
+        String category() {
+            return "Category " + random.nextInt(BenchmarkDatabase.CATALOG_CATEGORIES);
+        }
+
+        BigDecimal price() {
+            return BigDecimal.valueOf(random.nextInt(1, 1800));
+        }
+
+        String nameFragment() {
+            return "duct " + random.nextInt(100, 1000);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.interview.candidateproject.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start benchmark: the time from launching a fresh JVM to the first
+ * {@code 200} from {@code GET /api/users}, which is what an instance started
+ * on a traffic spike costs before it can take requests. Each mode runs the
+ * same jar, built by the {@code startup} Maven profile, on its own copy of the
+ * seeded database:
+ * <ul>
+ *   <li>{@code default}: no profile, AOT classes ignored</li>
+ *   <li>{@code fast-startup}: the {@code fast-startup} profile (lazy beans,
+ *       deferred repositories)</li>
+ *   <li>{@code aot}: the profile plus the AOT-generated bean definitions</li>
+ *   <li>{@code aot-cds}: the above plus the Class Data Sharing archive</li>
+ * </ul>
+ * <pre>
+ * mvn -Pstartup,jmh clean package exec:exec@startup-test -DskipTests
+ * mvn -Pstartup,jmh clean package exec:exec@startup-test -DskipTests -Dstartup.runs=10 -Dstartup.modes=default,aot-cds
+ * </pre>
+ * The AOT classes stay in {@code target/classes}; run {@code mvn clean} before
+ * building without the {@code startup} profile again.
+ * Modes are interleaved run by run so that a change in machine load affects
+ * them alike; each reports the minimum, median and maximum.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private static final String MAIN_CLASS = "com.interview.candidateproject.CandidateProjectApplication";
+
+    private final Path startupDirectory;
+
+    private final String classpath;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupBenchmark(Path startupDirectory, String classpath) {
+        this.startupDirectory = startupDirectory;
+        this.classpath = classpath;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("Usage: StartupBenchmark <startup directory> <runs> <orders> <mode,...>");
+            System.exit(2);
+        }
+        Path startupDirectory = Path.of(args[0]);
+        int runs = Integer.parseInt(args[1]);
+        int orders = Integer.parseInt(args[2]);
+        List<String> modes = Arrays.asList(args[3].split(","));
+
+        Path classpathFile = startupDirectory.resolve("classpath.txt");
+        Path archive = startupDirectory.resolve("application.jsa");
+        List<Path> jars;
+        try (var files = Files.list(startupDirectory)) {
+            jars = files.filter(file -> file.getFileName().toString().endsWith("-startup.jar")).toList();
+        }
+        if (Files.notExists(classpathFile) || jars.size() != 1
+                || (modes.contains("aot-cds") && Files.notExists(archive))) {
+            System.err.println("Build the startup profile first: mvn -Pstartup clean package");
+            System.exit(2);
+        }
+        String classpath = jars.get(0) + File.pathSeparator + Files.readString(classpathFile).strip();
+        StartupBenchmark benchmark = new StartupBenchmark(startupDirectory, classpath);
+
+        Map<String, List<Duration>> results = new LinkedHashMap<>();
+        for (int run = 1; run <= runs; run++) {
+            for (String mode : modes) {
+                Duration elapsed = benchmark.timeToFirstRequest(mode, archive, orders);
+                System.out.printf("run %d %-12s %6d ms%n", run, mode, elapsed.toMillis());
+                results.computeIfAbsent(mode, key -> new ArrayList<>()).add(elapsed);
+            }
+        }
+
+        System.out.printf("%ntime to first GET /api/users (%d runs, %d orders)%n", runs, orders);
+        System.out.printf("  %-12s %8s %8s %8s%n", "mode", "min", "median", "max");
+        results.forEach((mode, times) -> {
+            List<Long> millis = times.stream().map(Duration::toMillis).sorted().toList();
+            System.out.printf("  %-12s %5d ms %5d ms %5d ms%n",
+                    mode, millis.get(0), millis.get(millis.size() / 2), millis.get(millis.size() - 1));
+        });
+    }
+
+    private Duration timeToFirstRequest(String mode, Path archive, int orders) throws Exception {
+        Path database = BenchmarkDatabase.workingCopy(orders);
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xlog:cds=error"));
+        switch (mode) {
+            case "default" -> {}
+            case "fast-startup" -> command.add("-Dspring.profiles.active=fast-startup");
+            case "aot" -> command.addAll(List.of(
+                    "-Dspring.profiles.active=fast-startup", "-Dspring.aot.enabled=true"));
+            case "aot-cds" -> command.addAll(List.of(
+                    "-Dspring.profiles.active=fast-startup", "-Dspring.aot.enabled=true",
+                    "-XX:SharedArchiveFile=" + archive));
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+        command.addAll(List.of(
+                "-classpath", classpath,
+                MAIN_CLASS,
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:sqlite:" + database));
+        Path log = startupDirectory.resolve("startup-" + mode + ".log");
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start);
+                    }
+                } catch (IOException notListeningYet) {
+                    // Retry until the server accepts connections
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException(mode + " did not answer within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            Files.deleteIfExists(database);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.interview.candidateproject.benchmark;
+
+import com.interview.candidateproject.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User registration (uniqueness checks plus insert) and lookup by username.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserServiceBenchmark {
+
+    @Benchmark
+    public User createUser(ApplicationState app, Keys keys) {
+        String username = keys.unique("bench");
+        return app.userService.createUser(new User(username, username + "@example.com", "Bench", "User"));
+    }
+
+    @Benchmark
+    public Optional<User> getUserByUsername(ApplicationState app, Keys keys) {
+        return app.userService.getUserByUsername(BenchmarkDatabase.username(keys.userId(app)));
+    }
+}
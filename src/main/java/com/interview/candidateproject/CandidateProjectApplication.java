@@ -2,8 +2,10 @@ package com.interview.candidateproject;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CandidateProjectApplication {
 
     public static void main(String[] args) {
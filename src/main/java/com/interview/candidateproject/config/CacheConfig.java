@@ -0,0 +1,50 @@
+package com.interview.candidateproject.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+
+/**
+ * Hibernate second-level cache backed by Ehcache through JCache.
+ * 
+ * Regions are declared in {@code ehcache.xml}. Hibernate's own statistics
+ * publish {@code hibernate.second.level.cache.*} and {@code hibernate.cache.query.*}
+ * hit/miss meters; the {@code cache.*} meters bound here add sizes, puts,
+ * removals and evictions per region.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        XmlConfiguration configuration = new XmlConfiguration(getClass().getResource("/ehcache.xml"));
+
+        // JCache shares cache managers by URI, so give each application context its own
+        URI uri = URI.create("urn:hibernate-cache:" + ObjectUtils.getIdentityHexString(this));
+        return provider.getCacheManager(uri, configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name), Tags.of("cache.manager", "hibernate")));
+    }
+}
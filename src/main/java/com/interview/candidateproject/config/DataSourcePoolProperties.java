@@ -0,0 +1,112 @@
+package com.interview.candidateproject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Typed HikariCP settings for the write and read pools, bound from
+ * {@code app.datasource.pool.write.*} and {@code app.datasource.pool.read.*},
+ * and the optional concurrency limiter in front of them
+ * ({@code app.datasource.pool.limiter.*}).
+ */
+@ConfigurationProperties(prefix = "app.datasource.pool")
+public class DataSourcePoolProperties {
+
+    private final Pool write = new Pool(4, 1, Duration.ofSeconds(20));
+
+    private final Pool read = new Pool(10, 2, Duration.ofSeconds(60));
+
+    private final Limiter limiter = new Limiter();
+
+    public Pool getWrite() { return write; }
+
+    public Pool getRead() { return read; }
+
+    public Limiter getLimiter() { return limiter; }
+
+    public static class Pool {
+
+        private int maximumPoolSize;
+
+        private int minimumIdle;
+
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+
+        private Duration idleTimeout = Duration.ofMinutes(10);
+
+        private Duration maxLifetime = Duration.ofMinutes(30);
+
+        private Duration keepaliveTime = Duration.ofMinutes(5);
+
+        private Duration validationTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Connections held longer than this are logged with the stack trace of
+         * the code that borrowed them. Zero disables leak detection.
+         */
+        private Duration leakDetectionThreshold;
+
+        /**
+         * Only needed for drivers without JDBC4 {@code Connection.isValid()}.
+         */
+        private String connectionTestQuery;
+
+        public Pool() {
+        }
+
+        Pool(int maximumPoolSize, int minimumIdle, Duration leakDetectionThreshold) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.minimumIdle = minimumIdle;
+            this.leakDetectionThreshold = leakDetectionThreshold;
+        }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+        public int getMinimumIdle() { return minimumIdle; }
+        public void setMinimumIdle(int minimumIdle) { this.minimumIdle = minimumIdle; }
+
+        public Duration getConnectionTimeout() { return connectionTimeout; }
+        public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+
+        public Duration getIdleTimeout() { return idleTimeout; }
+        public void setIdleTimeout(Duration idleTimeout) { this.idleTimeout = idleTimeout; }
+
+        public Duration getMaxLifetime() { return maxLifetime; }
+        public void setMaxLifetime(Duration maxLifetime) { this.maxLifetime = maxLifetime; }
+
+        public Duration getKeepaliveTime() { return keepaliveTime; }
+        public void setKeepaliveTime(Duration keepaliveTime) { this.keepaliveTime = keepaliveTime; }
+
+        public Duration getValidationTimeout() { return validationTimeout; }
+        public void setValidationTimeout(Duration validationTimeout) { this.validationTimeout = validationTimeout; }
+
+        public Duration getLeakDetectionThreshold() { return leakDetectionThreshold; }
+        public void setLeakDetectionThreshold(Duration leakDetectionThreshold) { this.leakDetectionThreshold = leakDetectionThreshold; }
+
+        public String getConnectionTestQuery() { return connectionTestQuery; }
+        public void setConnectionTestQuery(String connectionTestQuery) { this.connectionTestQuery = connectionTestQuery; }
+    }
+
+    /**
+     * Caps the callers inside each pool at its {@code maximumPoolSize}; the rest
+     * wait in FIFO order for up to the pool's {@code connectionTimeout}.
+     */
+    public static class Limiter {
+
+        private boolean enabled;
+
+        /**
+         * Callers allowed to queue per pool before further requests are
+         * rejected immediately instead of waiting.
+         */
+        private int maxWaiting = 1000;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getMaxWaiting() { return maxWaiting; }
+        public void setMaxWaiting(int maxWaiting) { this.maxWaiting = maxWaiting; }
+    }
+}
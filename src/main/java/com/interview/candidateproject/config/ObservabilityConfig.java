@@ -0,0 +1,67 @@
+package com.interview.candidateproject.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Request and query instrumentation in place of printing every statement.
+ * 
+ * Spring Boot already times each endpoint ({@code http.server.requests}) and
+ * each repository method ({@code spring.data.repository.invocations}, tagged
+ * by repository and method); application.properties turns on their
+ * histograms. Hibernate statistics are published as {@code hibernate.*}
+ * meters, and statements slower than {@code hibernate.log_slow_query} are
+ * logged to {@code org.hibernate.SQL_SLOW}. This adds the number of
+ * statements per request (see {@link SqlCountInterceptor}).
+ */
+@Configuration
+public class ObservabilityConfig implements WebMvcConfigurer {
+
+    @Autowired
+    @Lazy
+    private SqlCountInterceptor sqlCountInterceptor;
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> {
+            StatementInspector configured = configuredInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR));
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, configured == null ? sqlStatementCounter
+                    : (StatementInspector) sql -> sqlStatementCounter.inspect(configured.inspect(sql)));
+        };
+    }
+
+    /**
+     * An inspector already set through {@code hibernate.session_factory.statement_inspector}
+     * (an instance, class or class name) keeps running ahead of the counter.
+     */
+    private static StatementInspector configuredInspector(Object setting) {
+        if (setting == null || setting instanceof StatementInspector) {
+            return (StatementInspector) setting;
+        }
+        try {
+            Class<?> type = setting instanceof Class<?> c ? c : ClassUtils.forName(setting.toString(), null);
+            return (StatementInspector) BeanUtils.instantiateClass(type);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown statement inspector " + setting, e);
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlCountInterceptor).addPathPatterns("/api/**");
+    }
+}
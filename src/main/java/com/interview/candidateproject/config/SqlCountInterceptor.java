@@ -0,0 +1,108 @@
+package com.interview.candidateproject.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements each API request issues and records them in the
+ * {@code http.server.requests.sql} distribution summary, tagged like
+ * {@code http.server.requests} by method and URI template.
+ * 
+ * With {@code app.observability.sql-count-header} (on in the dev profile) the
+ * count so far is also sent as an {@value #SQL_COUNT_HEADER} response header:
+ * just before the body is written, or after the handler for bodiless responses.
+ */
+@ControllerAdvice
+public class SqlCountInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    public static final String SQL_COUNT_HEADER = "X-SQL-Count";
+
+    static final String METRIC_NAME = "http.server.requests.sql";
+
+    private final SqlStatementCounter counter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean sendHeader;
+
+    // Registered once per method and URI template; each request only records
+    private final Map<RequestTags, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public SqlCountInterceptor(SqlStatementCounter counter, MeterRegistry meterRegistry,
+                               @Value("${app.observability.sql-count-header:false}") boolean sendHeader) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.sendHeader = sendHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        counter.start();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (sendHeader && !response.isCommitted() && counter.current() >= 0) {
+            response.setHeader(SQL_COUNT_HEADER, String.valueOf(counter.current()));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int statements = counter.stop();
+        if (statements < 0) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        summaries.computeIfAbsent(new RequestTags(request.getMethod(), uri == null ? "UNKNOWN" : uri.toString()),
+                        this::register)
+                .record(statements);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return sendHeader;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int statements = counter.current();
+        if (statements >= 0) {
+            response.getHeaders().set(SQL_COUNT_HEADER, String.valueOf(statements));
+        }
+        return body;
+    }
+
+    private DistributionSummary register(RequestTags tags) {
+        return DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements issued per HTTP request")
+                .baseUnit("statements")
+                .tag("method", tags.method())
+                .tag("uri", tags.uri())
+                .register(meterRegistry);
+    }
+
+    private record RequestTags(String method, String uri) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.interview.candidateproject.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #start()} and {@link #stop()}. Registered as Hibernate's
+ * {@link StatementInspector}; statements are passed through unchanged.
+ * 
+ * Statements issued outside Hibernate (JdbcTemplate) or on another thread
+ * (the body of a streaming response) are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * Statements counted since {@link #start()}, or -1 when not counting.
+     */
+    public int current() {
+        int[] current = count.get();
+        return current == null ? -1 : current[0];
+    }
+
+    public int stop() {
+        int current = current();
+        count.remove();
+        return current;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+}
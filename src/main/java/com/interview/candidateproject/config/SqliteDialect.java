@@ -0,0 +1,76 @@
+package com.interview.candidateproject.config;
+
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.spi.SQLExceptionConversionDelegate;
+import org.hibernate.internal.util.JdbcExceptionHelper;
+
+import java.sql.Types;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The community {@link SQLiteDialect}, plus classification of
+ * {@code SQLITE_CONSTRAINT} errors as {@link ConstraintViolationException}
+ * carrying the violated column (e.g. {@code users.email}), so that Spring
+ * reports them as {@code DataIntegrityViolationException} rather than an
+ * uncategorized JDBC failure.
+ * 
+ * Schema validation compares column types by their SQLite type affinity, the
+ * only part of a declared type SQLite acts on: an {@code INTEGER PRIMARY KEY}
+ * column holds a {@code bigint} id, for example.
+ */
+public class SqliteDialect extends SQLiteDialect {
+
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    private static final Pattern UNIQUE_VIOLATION = Pattern.compile("UNIQUE constraint failed: ([\\w.]+)");
+
+    /**
+     * Constraint names reported for the unique columns of {@code users}.
+     */
+    public static final String USERS_USERNAME = "users.username";
+
+    public static final String USERS_EMAIL = "users.email";
+
+    @Override
+    public boolean equivalentTypes(int typeCode1, int typeCode2) {
+        return super.equivalentTypes(typeCode1, typeCode2)
+                || affinity(typeCode1) != null && affinity(typeCode1) == affinity(typeCode2);
+    }
+
+    @Override
+    public SQLExceptionConversionDelegate buildSQLExceptionConversionDelegate() {
+        SQLExceptionConversionDelegate delegate = super.buildSQLExceptionConversionDelegate();
+        return (sqlException, message, sql) -> {
+            // Extended result codes (e.g. SQLITE_CONSTRAINT_UNIQUE) keep the primary code in the low byte
+            if ((JdbcExceptionHelper.extractErrorCode(sqlException) & 0xFF) == SQLITE_CONSTRAINT) {
+                Matcher unique = UNIQUE_VIOLATION.matcher(String.valueOf(sqlException.getMessage()));
+                return new ConstraintViolationException(message, sqlException, sql,
+                        unique.find() ? unique.group(1) : null);
+            }
+            return delegate == null ? null : delegate.convert(sqlException, message, sql);
+        };
+    }
+
+    /**
+     * The affinity SQLite gives a column declared with a type of this JDBC
+     * type code, or {@code null} for types it has no rule for.
+     */
+    private static Affinity affinity(int typeCode) {
+        return switch (typeCode) {
+            case Types.BIT, Types.BOOLEAN, Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> Affinity.INTEGER;
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR,
+                    Types.CLOB, Types.NCLOB -> Affinity.TEXT;
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> Affinity.REAL;
+            case Types.NUMERIC, Types.DECIMAL, Types.DATE, Types.TIME, Types.TIMESTAMP,
+                    Types.TIMESTAMP_WITH_TIMEZONE -> Affinity.NUMERIC;
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> Affinity.BLOB;
+            default -> null;
+        };
+    }
+
+    private enum Affinity {
+        INTEGER, TEXT, REAL, NUMERIC, BLOB
+    }
+}
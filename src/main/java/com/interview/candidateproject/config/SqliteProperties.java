@@ -0,0 +1,63 @@
+package com.interview.candidateproject.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.sqlite.SQLiteConfig;
+
+import java.time.Duration;
+
+/**
+ * Connection pragmas and write mode applied by {@link DatabaseConfig} when
+ * the database is SQLite, bound from {@code app.datasource.sqlite.*}.
+ */
+@ConfigurationProperties(prefix = "app.datasource.sqlite")
+public class SqliteProperties {
+
+    /**
+     * WAL lets the read pool keep reading while a write is in progress.
+     * Only the write pool sets it; the mode is stored in the database file.
+     */
+    private SQLiteConfig.JournalMode journalMode = SQLiteConfig.JournalMode.WAL;
+
+    /**
+     * NORMAL in WAL mode syncs at checkpoints rather than on every commit; a
+     * power loss can drop the last commits but never corrupts the database.
+     */
+    private SQLiteConfig.SynchronousMode synchronous = SQLiteConfig.SynchronousMode.NORMAL;
+
+    /**
+     * How long a statement waits for a lock held by another connection
+     * before failing with SQLITE_BUSY.
+     */
+    private Duration busyTimeout = Duration.ofSeconds(5);
+
+    /** Page cache per connection. */
+    private DataSize cacheSize = DataSize.ofMegabytes(64);
+
+    /** Bytes of the database file read through memory mapping; zero disables it. */
+    private DataSize mmapSize = DataSize.ofMegabytes(256);
+
+    /**
+     * Caps the write pool at one connection, so writers queue for it in the
+     * application instead of contending for SQLite's file lock.
+     */
+    private boolean singleWriter = true;
+
+    public SQLiteConfig.JournalMode getJournalMode() { return journalMode; }
+    public void setJournalMode(SQLiteConfig.JournalMode journalMode) { this.journalMode = journalMode; }
+
+    public SQLiteConfig.SynchronousMode getSynchronous() { return synchronous; }
+    public void setSynchronous(SQLiteConfig.SynchronousMode synchronous) { this.synchronous = synchronous; }
+
+    public Duration getBusyTimeout() { return busyTimeout; }
+    public void setBusyTimeout(Duration busyTimeout) { this.busyTimeout = busyTimeout; }
+
+    public DataSize getCacheSize() { return cacheSize; }
+    public void setCacheSize(DataSize cacheSize) { this.cacheSize = cacheSize; }
+
+    public DataSize getMmapSize() { return mmapSize; }
+    public void setMmapSize(DataSize mmapSize) { this.mmapSize = mmapSize; }
+
+    public boolean isSingleWriter() { return singleWriter; }
+    public void setSingleWriter(boolean singleWriter) { this.singleWriter = singleWriter; }
+}
@@ -1,34 +1,110 @@
 package com.interview.candidateproject.controller;
 
+import com.interview.candidateproject.dto.DailyRevenue;
+import com.interview.candidateproject.dto.KeysetPage;
+import com.interview.candidateproject.dto.OrderImportReport;
+import com.interview.candidateproject.dto.OrderImportRequest;
+import com.interview.candidateproject.dto.OrderStatusTransitionReport;
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.dto.ResourceVersion;
+import com.interview.candidateproject.dto.StatusRevenue;
 import com.interview.candidateproject.entity.Order;
 import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.service.InsufficientStockException;
+import com.interview.candidateproject.service.Money;
+import com.interview.candidateproject.service.OrderArchiveService;
+import com.interview.candidateproject.service.OrderImportService;
+import com.interview.candidateproject.service.OrderPricingException;
 import com.interview.candidateproject.service.OrderService;
+import com.interview.candidateproject.service.OrderStatisticsService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    static final String TEXT_CSV_VALUE = "text/csv";
+    
+    private static final String CSV_HEADER = "id,orderNumber,userId,totalAmount,orderStatus,orderDate,itemCount\n";
+    
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private OrderImportService orderImportService;
+    
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<Order>> getAllOrders(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        KeysetPage<Order> page = orderService.getOrdersPage(afterId, limit);
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.items());
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()))
+                .body(page.items());
     }
     
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        StreamingResponseBody body = out -> orderService.streamAllOrders(order -> writeLine(out, order));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    /**
+     * Conditional GET: answers 304 from a version lookup alone when the
+     * client's {@code If-None-Match} or {@code If-Modified-Since} is current.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<Order> getOrderById(@PathVariable Long id, WebRequest request) {
+        Optional<ResourceVersion> version = orderService.getOrderVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(version.get().eTag(), version.get().lastModifiedMillis())) {
+            return null;
+        }
         return orderService.getOrderById(id)
                 .map(order -> ResponseEntity.ok(order))
                 .orElse(ResponseEntity.notFound().build());
@@ -41,36 +117,101 @@ public class OrderController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Returns order summaries; pass {@code expand=true} for full orders with items.
+     */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUserId(@PathVariable Long userId) {
-        List<Order> orders = orderService.getOrdersByUserId(userId);
+    public ResponseEntity<List<?>> getOrdersByUserId(@PathVariable Long userId,
+                                                     @RequestParam(defaultValue = "false") boolean expand) {
+        if (expand) {
+            return ResponseEntity.ok(orderService.getOrdersByUserId(userId));
+        }
+        List<OrderSummary> orders = orderService.getOrderSummariesByUserId(userId);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        List<Order> orders = orderService.getOrdersByStatus(status);
+    public ResponseEntity<List<?>> getOrdersByStatus(@PathVariable OrderStatus status,
+                                                     @RequestParam(defaultValue = "false") boolean expand) {
+        if (expand) {
+            return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+        }
+        List<OrderSummary> orders = orderService.getOrderSummariesByStatus(status);
         return ResponseEntity.ok(orders);
     }
     
     @GetMapping("/date-range")
-    public ResponseEntity<List<Order>> getOrdersInDateRange(
+    public ResponseEntity<List<?>> getOrdersInDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<Order> orders = orderService.getOrdersInDateRange(startDate, endDate);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean expand) {
+        if (expand) {
+            return ResponseEntity.ok(orderService.getOrdersInDateRange(startDate, endDate));
+        }
+        List<OrderSummary> orders = orderService.getOrderSummariesInDateRange(startDate, endDate);
         return ResponseEntity.ok(orders);
     }
     
+    /**
+     * CSV export of order summaries in a date range, written row by row as the
+     * database cursor advances so any range fits in constant memory.
+     */
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrdersInDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            orderService.streamOrderSummariesInDateRange(startDate, endDate, summary -> writeCsvRow(writer, summary));
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"")
+                .body(body);
+    }
+    
     @GetMapping("/minimum-amount")
-    public ResponseEntity<List<Order>> getOrdersWithMinimumAmount(@RequestParam BigDecimal minAmount) {
-        List<Order> orders = orderService.getOrdersWithMinimumAmount(minAmount);
+    public ResponseEntity<List<?>> getOrdersWithMinimumAmount(@RequestParam BigDecimal minAmount,
+                                                              @RequestParam(defaultValue = "false") boolean expand) {
+        if (expand) {
+            return ResponseEntity.ok(orderService.getOrdersWithMinimumAmount(minAmount));
+        }
+        List<OrderSummary> orders = orderService.getOrderSummariesWithMinimumAmount(minAmount);
         return ResponseEntity.ok(orders);
     }
     
     @PostMapping
     public ResponseEntity<Order> createOrder(@Valid @RequestBody Order order) {
-        Order createdOrder = orderService.createOrder(order);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+        try {
+            Order createdOrder = orderService.createOrder(order);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+        } catch (OrderPricingException e) {
+            return ResponseEntity.badRequest()
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
+        } catch (InsufficientStockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
+        }
+    }
+    
+    /**
+     * Bulk import. Accepts a JSON array or an NDJSON stream of orders; both are
+     * read incrementally. Each order is reported as created or failed.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<OrderImportReport> createOrdersBatch(InputStream body) {
+        try (MappingIterator<OrderImportRequest> requests =
+                     objectMapper.readerFor(OrderImportRequest.class).readValues(body)) {
+            return ResponseEntity.ok(OrderImportReport.of(orderImportService.importOrders(requests)));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest()
+                    .header("X-Error-Message", "Malformed order batch")
+                    .build();
+        }
     }
     
     @PutMapping("/{id}/status")
@@ -78,14 +219,93 @@ public class OrderController {
         try {
             Order updatedOrder = orderService.updateOrderStatus(id, status);
             return ResponseEntity.ok(updatedOrder);
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * Bulk status transition. Takes a JSON array of order ids and reports which
+     * were moved, already had the status, or were rejected.
+     */
+    @PutMapping("/status")
+    public ResponseEntity<OrderStatusTransitionReport> updateOrderStatuses(@RequestParam OrderStatus status,
+                                                                           @RequestBody List<Long> orderIds) {
+        return ResponseEntity.ok(orderService.transitionOrderStatuses(orderIds, status));
+    }
+    
     @GetMapping("/user/{userId}/count")
     public ResponseEntity<Long> countUserOrdersByStatus(@PathVariable Long userId, @RequestParam OrderStatus status) {
         long count = orderService.countUserOrdersByStatus(userId, status);
         return ResponseEntity.ok(count);
     }
+    
+    @GetMapping("/stats/revenue/daily")
+    public ResponseEntity<List<DailyRevenue>> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status) {
+        return ResponseEntity.ok(orderStatisticsService.getDailyRevenue(from, to, status));
+    }
+    
+    @GetMapping("/stats/revenue/status")
+    public ResponseEntity<List<StatusRevenue>> getRevenueByStatus(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderStatisticsService.getRevenueByStatus(from, to));
+    }
+    
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Long> rebuildStatistics() {
+        return ResponseEntity.ok(orderStatisticsService.rebuild());
+    }
+    
+    /**
+     * Archives eligible orders now rather than at the next scheduled run.
+     */
+    @PostMapping("/archive")
+    public ResponseEntity<Integer> archiveOrders() {
+        return ResponseEntity.ok(orderArchiveService.archiveOrders());
+    }
+    
+    private static void writeCsvRow(Writer writer, OrderSummary summary) {
+        try {
+            writer.write(String.valueOf(summary.id()));
+            writer.write(',');
+            writer.write(csvField(summary.orderNumber()));
+            writer.write(',');
+            writer.write(String.valueOf(summary.userId()));
+            writer.write(',');
+            writer.write(summary.totalAmount().setScale(Money.SCALE, RoundingMode.HALF_UP).toPlainString());
+            writer.write(',');
+            writer.write(summary.orderStatus().name());
+            writer.write(',');
+            writer.write(summary.orderDate() == null ? "" : summary.orderDate().toString());
+            writer.write(',');
+            writer.write(String.valueOf(summary.itemCount()));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package com.interview.candidateproject.controller;
+
+import com.interview.candidateproject.dto.ProductSearchCriteria;
+import com.interview.candidateproject.dto.ProductSearchResult;
+import com.interview.candidateproject.entity.Product;
+import com.interview.candidateproject.service.ProductService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+@RestController
+@RequestMapping("/api/products")
+public class ProductController {
+    
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    @Autowired
+    private ProductService productService;
+    
+    /**
+     * Catalog browse: every filter is optional and they combine. The body
+     * carries the total and facet counts; the keyset cursor for the next page
+     * is in {@code X-Next-Cursor}, absent on the last page.
+     */
+    @GetMapping
+    public ResponseEntity<ProductSearchResult> searchProducts(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        ProductSearchResult result = productService.searchProducts(
+                new ProductSearchCriteria(category, minPrice, maxPrice, inStock, q), afterId, limit);
+        if (result.nextCursor() == null) {
+            return ResponseEntity.ok(result);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(result.nextCursor()))
+                .body(result);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+        return productService.getProductById(id)
+                .map(product -> ResponseEntity.ok(product))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping
+    public ResponseEntity<Product> createProduct(@Valid @RequestBody Product product) {
+        try {
+            Product createdProduct = productService.createProduct(product);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @Valid @RequestBody Product productDetails) {
+        try {
+            Product updatedProduct = productService.updateProduct(id, productDetails);
+            return ResponseEntity.ok(updatedProduct);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/catalog/rebuild")
+    public ResponseEntity<Integer> rebuildCatalog() {
+        return ResponseEntity.ok(productService.rebuildCatalog());
+    }
+}
@@ -0,0 +1,67 @@
+package com.interview.candidateproject.controller;
+
+import com.interview.candidateproject.dto.OrderEvent;
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.service.ReactiveOrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Streaming variants of the {@link OrderController} lookups. Each returns a
+ * {@link Flux} that Spring MVC writes asynchronously as NDJSON or server-sent
+ * events: the request thread is released at once, and the next row is only
+ * read once the previous one has been written to the client.
+ */
+@RestController
+@RequestMapping(value = "/api/rx/orders", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+public class ReactiveOrderController {
+    
+    @Autowired
+    private ReactiveOrderService reactiveOrderService;
+    
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<Flux<OrderSummary>> getOrdersByUserId(@PathVariable Long userId) {
+        return ResponseEntity.ok(reactiveOrderService.getOrderSummariesByUserId(userId));
+    }
+    
+    @GetMapping("/status/{status}")
+    public ResponseEntity<Flux<OrderSummary>> getOrdersByStatus(@PathVariable OrderStatus status) {
+        return ResponseEntity.ok(reactiveOrderService.getOrderSummariesByStatus(status));
+    }
+    
+    @GetMapping("/date-range")
+    public ResponseEntity<Flux<OrderSummary>> getOrdersInDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return ResponseEntity.ok(reactiveOrderService.getOrderSummariesInDateRange(startDate, endDate));
+    }
+    
+    @GetMapping("/minimum-amount")
+    public ResponseEntity<Flux<OrderSummary>> getOrdersWithMinimumAmount(@RequestParam BigDecimal minAmount) {
+        return ResponseEntity.ok(reactiveOrderService.getOrderSummariesWithMinimumAmount(minAmount));
+    }
+    
+    /**
+     * Live order events as server-sent events, replacing long-polling of the
+     * status lists. Each event's id is its outbox id.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<OrderEvent>>> streamOrderEvents(
+            @RequestParam(required = false) Long userId) {
+        Flux<ServerSentEvent<OrderEvent>> events = reactiveOrderService.getOrderEvents(userId)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(String.valueOf(event.eventId()))
+                        .event(event.eventType().name())
+                        .build());
+        return ResponseEntity.ok(events);
+    }
+}
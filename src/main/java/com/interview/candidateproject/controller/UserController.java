@@ -1,30 +1,73 @@
 package com.interview.candidateproject.controller;
 
+import com.interview.candidateproject.dto.KeysetPage;
+import com.interview.candidateproject.dto.ResourceVersion;
+import com.interview.candidateproject.dto.UserSummary;
 import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.service.DuplicateUserException;
 import com.interview.candidateproject.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserSummary>> getAllUsers(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        KeysetPage<UserSummary> page = userService.getUsersPage(afterId, limit);
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.items());
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()))
+                .body(page.items());
     }
     
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        StreamingResponseBody body = out -> userService.streamAllUsers(user -> writeLine(out, user));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    /**
+     * Conditional GET: answers 304 from a version lookup alone when the
+     * client's {@code If-None-Match} or {@code If-Modified-Since} is current.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<User> getUserById(@PathVariable Long id, WebRequest request) {
+        Optional<ResourceVersion> version = userService.getUserVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(version.get().eTag(), version.get().lastModifiedMillis())) {
+            return null;
+        }
         return userService.getUserById(id)
                 .map(user -> ResponseEntity.ok(user))
                 .orElse(ResponseEntity.notFound().build());
@@ -38,21 +81,18 @@ public class UserController {
     }
     
     @GetMapping("/active")
-    public ResponseEntity<List<User>> getActiveUsers() {
-        List<User> activeUsers = userService.getActiveUsers();
+    public ResponseEntity<List<UserSummary>> getActiveUsers() {
+        List<UserSummary> activeUsers = userService.getActiveUserSummaries();
         return ResponseEntity.ok(activeUsers);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<User>> searchUsersByName(@RequestParam String name) {
-        try {
-            List<User> users = userService.searchUsersByName(name);
-            return ResponseEntity.ok(users);
-        } catch (UnsupportedOperationException e) {
-            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
-                    .header("X-Error-Message", "Search functionality not yet implemented")
-                    .build();
-        }
+    public ResponseEntity<List<User>> searchUsersByName(@RequestParam String name,
+                                                        @RequestParam(required = false) Integer limit) {
+        List<User> users = limit == null
+                ? userService.searchUsersByName(name)
+                : userService.searchUsersByName(name, limit);
+        return ResponseEntity.ok(users);
     }
     
     @PostMapping
@@ -60,6 +100,10 @@ public class UserController {
         try {
             User createdUser = userService.createUser(user);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+        } catch (DuplicateUserException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -70,6 +114,10 @@ public class UserController {
         try {
             User updatedUser = userService.updateUser(id, userDetails);
             return ResponseEntity.ok(updatedUser);
+        } catch (DuplicateUserException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -92,4 +140,13 @@ public class UserController {
                     .build();
         }
     }
+    
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
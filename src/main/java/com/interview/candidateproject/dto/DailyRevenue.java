@@ -0,0 +1,13 @@
+package com.interview.candidateproject.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Orders placed and their total amount on one day, from the order statistics aggregate.
+ */
+public record DailyRevenue(
+        LocalDate day,
+        long orderCount,
+        BigDecimal totalAmount) {
+}
@@ -0,0 +1,25 @@
+package com.interview.candidateproject.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list, ordered by id. {@code nextCursor} is
+ * the {@code afterId} of the following page, or null when this is the last.
+ */
+public record KeysetPage<T>(
+        List<T> items,
+        Long nextCursor) {
+
+    /**
+     * Builds a page from up to {@code pageSize + 1} rows: the extra row, when
+     * present, only tells that another page follows and is dropped.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int pageSize, Function<T, Long> id) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new KeysetPage<>(items, id.apply(items.get(pageSize - 1)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.candidateproject.dto;
+
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderOutboxEntry.EventType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An order lifecycle event as handed to the outbox sinks. Delivery is
+ * at-least-once, so consumers should ignore an {@code (orderId, orderVersion)}
+ * pair they have already seen.
+ */
+public record OrderEvent(
+        Long eventId,
+        EventType eventType,
+        Long orderId,
+        Long userId,
+        OrderStatus previousStatus,
+        OrderStatus orderStatus,
+        Long orderVersion,
+        BigDecimal totalAmount,
+        LocalDateTime occurredAt) {
+}
@@ -0,0 +1,20 @@
+package com.interview.candidateproject.dto;
+
+import java.util.List;
+
+/**
+ * Response body of {@code POST /api/orders/batch}.
+ */
+public record OrderImportReport(
+        int received,
+        int created,
+        int failed,
+        List<OrderImportResult> results) {
+
+    public static OrderImportReport of(List<OrderImportResult> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.status() == OrderImportResult.Status.CREATED)
+                .count();
+        return new OrderImportReport(results.size(), created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,43 @@
+package com.interview.candidateproject.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One order in a bulk import ({@code POST /api/orders/batch}). Users and
+ * products are referenced by id. The total must match the catalog prices.
+ */
+public record OrderImportRequest(
+        @NotNull(message = "User id is required")
+        Long userId,
+
+        @NotBlank(message = "Order number is required")
+        String orderNumber,
+
+        @NotNull(message = "Total amount is required")
+        @DecimalMin(value = "0.0", inclusive = false, message = "Total amount must be greater than 0")
+        BigDecimal totalAmount,
+
+        @NotEmpty(message = "At least one item is required")
+        List<@Valid Item> items) {
+
+    public record Item(
+            @NotNull(message = "Product id is required")
+            Long productId,
+
+            @NotNull(message = "Quantity is required")
+            @Min(value = 1, message = "Quantity must be at least 1")
+            Integer quantity,
+
+            // Optional; priced from the catalog and checked against it when given
+            @DecimalMin(value = "0.0", inclusive = false, message = "Unit price must be greater than 0")
+            BigDecimal unitPrice) {
+    }
+}
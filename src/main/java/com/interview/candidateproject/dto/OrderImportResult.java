@@ -0,0 +1,24 @@
+package com.interview.candidateproject.dto;
+
+/**
+ * Outcome of one order in a bulk import, in request order.
+ */
+public record OrderImportResult(
+        int index,
+        String orderNumber,
+        Status status,
+        Long orderId,
+        String error) {
+
+    public enum Status {
+        CREATED, FAILED
+    }
+
+    public static OrderImportResult created(int index, String orderNumber, Long orderId) {
+        return new OrderImportResult(index, orderNumber, Status.CREATED, orderId, null);
+    }
+
+    public static OrderImportResult failed(int index, String orderNumber, String error) {
+        return new OrderImportResult(index, orderNumber, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.interview.candidateproject.dto;
+
+import com.interview.candidateproject.entity.Order.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns a status transition needs: the current status and version to
+ * guard the conditional UPDATE, and the fields that key the order statistics.
+ */
+public record OrderStatusRow(
+        Long id,
+        OrderStatus orderStatus,
+        Long version,
+        Long userId,
+        LocalDateTime orderDate,
+        BigDecimal totalAmount) {
+}
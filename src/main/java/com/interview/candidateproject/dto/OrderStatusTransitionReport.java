@@ -0,0 +1,24 @@
+package com.interview.candidateproject.dto;
+
+import com.interview.candidateproject.entity.Order.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Response body of {@code PUT /api/orders/status}: how many of the requested
+ * orders moved to {@code status}, how many already had it, and why the rest
+ * were left alone.
+ */
+public record OrderStatusTransitionReport(
+        OrderStatus status,
+        int requested,
+        int updated,
+        int unchanged,
+        List<Rejected> rejected) {
+
+    public record Rejected(
+            Long orderId,
+            OrderStatus currentStatus,
+            String reason) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.interview.candidateproject.dto;
+
+import com.interview.candidateproject.entity.Order.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of an order for list endpoints, built directly from a JPQL
+ * constructor expression so no managed entities are hydrated.
+ */
+public record OrderSummary(
+        Long id,
+        String orderNumber,
+        Long userId,
+        BigDecimal totalAmount,
+        OrderStatus orderStatus,
+        LocalDateTime orderDate,
+        long itemCount) {
+}
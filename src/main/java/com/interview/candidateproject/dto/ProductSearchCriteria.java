@@ -0,0 +1,16 @@
+package com.interview.candidateproject.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters of {@code GET /api/products}; a null filter matches every product.
+ * {@code text} is matched case-insensitively anywhere in the product name and
+ * the price range is inclusive, like the repository finders it replaces.
+ */
+public record ProductSearchCriteria(
+        String category,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        boolean inStockOnly,
+        String text) {
+}
@@ -0,0 +1,31 @@
+package com.interview.candidateproject.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response body of {@code GET /api/products}: one keyset page of matching
+ * products, the total number of matches and the facet counts. The cursor of
+ * the next page, null on the last, travels in a header rather than the body.
+ * 
+ * Each facet is counted with every filter applied except its own, so
+ * {@code categories} tells how many products each other category would
+ * offer at the chosen price, and {@code priceBuckets} the reverse.
+ */
+public record ProductSearchResult(
+        long total,
+        List<ProductSummary> products,
+        @JsonIgnore Long nextCursor,
+        Map<String, Long> categories,
+        List<PriceBucket> priceBuckets) {
+
+    /** Products priced from {@code from} (inclusive) to {@code to} (exclusive; null for no upper bound). */
+    public record PriceBucket(
+            BigDecimal from,
+            BigDecimal to,
+            long count) {
+    }
+}
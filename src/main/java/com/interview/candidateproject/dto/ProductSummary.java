@@ -0,0 +1,15 @@
+package com.interview.candidateproject.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * The product columns the catalog browse API filters on and returns, read
+ * with a JPQL constructor expression so no entities are hydrated.
+ */
+public record ProductSummary(
+        Long id,
+        String name,
+        BigDecimal price,
+        Integer stockQuantity,
+        String category) {
+}
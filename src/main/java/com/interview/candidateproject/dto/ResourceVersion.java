@@ -0,0 +1,37 @@
+package com.interview.candidateproject.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * What a conditional GET needs to know about an entity: its optimistic-lock
+ * version (if it has one) and when it last changed.
+ */
+public record ResourceVersion(
+        Long id,
+        Long version,
+        LocalDateTime lastModified) {
+
+    public ResourceVersion(Long id, LocalDateTime lastModified) {
+        this(id, null, lastModified);
+    }
+
+    /**
+     * The version when there is one, otherwise the update time; {@code null}
+     * when neither is known. A version tag is weak: it covers the entity's
+     * own columns, not the associations rendered alongside it.
+     */
+    public String eTag() {
+        if (version != null) {
+            return "W/\"" + version + "\"";
+        }
+        return lastModified == null ? null : "\"" + lastModifiedMillis() + "\"";
+    }
+
+    /**
+     * Epoch milliseconds of {@link #lastModified()}, or -1 when unknown.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,14 @@
+package com.interview.candidateproject.dto;
+
+import com.interview.candidateproject.entity.Order.OrderStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Orders in one status and their total amount, from the order statistics aggregate.
+ */
+public record StatusRevenue(
+        OrderStatus orderStatus,
+        long orderCount,
+        BigDecimal totalAmount) {
+}
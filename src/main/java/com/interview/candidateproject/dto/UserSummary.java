@@ -0,0 +1,14 @@
+package com.interview.candidateproject.dto;
+
+/**
+ * Read-only view of a user for list endpoints, built directly from a JPQL
+ * constructor expression so no managed entities are hydrated.
+ */
+public record UserSummary(
+        Long id,
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        Boolean active) {
+}
@@ -1,31 +1,44 @@
 package com.interview.candidateproject.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_user_status", columnList = "user_id, order_status"),
+    @Index(name = "idx_orders_status_date", columnList = "order_status, order_date"),
+    @Index(name = "idx_orders_order_date", columnList = "order_date"),
+    @Index(name = "idx_orders_total_amount", columnList = "total_amount")
+})
 public class Order {
     
+    // Pooled sequence (a table on SQLite) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "orders"})
     private User user;
     
     @NotBlank(message = "Order number is required")
     @Column(name = "order_number", unique = true, nullable = false)
     private String orderNumber;
     
-    @NotNull(message = "Total amount is required")
+    // Optional in requests: OrderPricingService sets it from the catalog and
+    // rejects a client total that disagrees
     @DecimalMin(value = "0.0", inclusive = false, message = "Total amount must be greater than 0")
     @Column(name = "total_amount", nullable = false)
     private BigDecimal totalAmount;
@@ -37,12 +50,34 @@ public class Order {
     @Column(name = "order_date")
     private LocalDateTime orderDate;
     
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt;
+    
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JsonManagedReference
+    @Valid
     private List<OrderItem> orderItems = new ArrayList<>();
     
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+    
+    // Whether the items' stock was taken, so cancelling gives back only what was taken.
+    // New orders always reserve (InventoryService); orders from before V7 did not.
+    @Column(name = "stock_reserved", nullable = false)
+    @JsonIgnore
+    private boolean stockReserved = true;
+    
     @PrePersist
     protected void onCreate() {
         orderDate = LocalDateTime.now();
+        updatedAt = orderDate;
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
     
     // Constructors
@@ -73,10 +108,33 @@ public class Order {
     public LocalDateTime getOrderDate() { return orderDate; }
     public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
     
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
     public List<OrderItem> getOrderItems() { return orderItems; }
     public void setOrderItems(List<OrderItem> orderItems) { this.orderItems = orderItems; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    public boolean isStockReserved() { return stockReserved; }
+    public void setStockReserved(boolean stockReserved) { this.stockReserved = stockReserved; }
+    
     public enum OrderStatus {
-        PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED
+        PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED;
+        
+        /**
+         * Allowed moves: PENDING → CONFIRMED → SHIPPED → DELIVERED, and
+         * PENDING or CONFIRMED → CANCELLED.
+         */
+        public boolean canTransitionFrom(OrderStatus current) {
+            return switch (this) {
+                case PENDING -> false;
+                case CONFIRMED -> current == PENDING;
+                case SHIPPED -> current == CONFIRMED;
+                case DELIVERED -> current == SHIPPED;
+                case CANCELLED -> current == PENDING || current == CONFIRMED;
+            };
+        }
     }
 }
@@ -1,5 +1,7 @@
 package com.interview.candidateproject.entity;
 
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
@@ -7,19 +9,27 @@ import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+    @Index(name = "idx_order_items_order", columnList = "order_id, product_id"),
+    @Index(name = "idx_order_items_product", columnList = "product_id")
+})
 public class OrderItem {
     
+    // Pooled sequence (a table on SQLite) so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
+    @JsonBackReference
     private Order order;
     
+    @NotNull(message = "Product is required")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Product product;
     
     @NotNull(message = "Quantity is required")
@@ -27,7 +37,7 @@ public class OrderItem {
     @Column(nullable = false)
     private Integer quantity;
     
-    @NotNull(message = "Unit price is required")
+    // Optional in requests, as the order total
     @DecimalMin(value = "0.0", inclusive = false, message = "Unit price must be greater than 0")
     @Column(name = "unit_price", nullable = false)
     private BigDecimal unitPrice;
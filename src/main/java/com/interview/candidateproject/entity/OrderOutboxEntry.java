@@ -0,0 +1,95 @@
+package com.interview.candidateproject.entity;
+
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An order lifecycle event waiting in the transactional outbox. Written by
+ * {@code OrderEventService} in the transaction that changes the order and
+ * removed by {@code OrderEventDispatcher} once every sink has accepted it.
+ */
+@Entity
+@Table(name = "order_outbox")
+public class OrderOutboxEntry {
+    
+    // Assigned by SQLite on INSERT ... SELECT; entries are never persisted through Hibernate
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private EventType eventType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private OrderStatus previousStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false)
+    private OrderStatus orderStatus;
+    
+    @Column(name = "order_version", nullable = false)
+    private Long orderVersion;
+    
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "last_error")
+    private String lastError;
+    
+    // Constructors
+    public OrderOutboxEntry() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public EventType getEventType() { return eventType; }
+    public void setEventType(EventType eventType) { this.eventType = eventType; }
+    
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(OrderStatus previousStatus) { this.previousStatus = previousStatus; }
+    
+    public OrderStatus getOrderStatus() { return orderStatus; }
+    public void setOrderStatus(OrderStatus orderStatus) { this.orderStatus = orderStatus; }
+    
+    public Long getOrderVersion() { return orderVersion; }
+    public void setOrderVersion(Long orderVersion) { this.orderVersion = orderVersion; }
+    
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+    
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    
+    public enum EventType {
+        ORDER_CREATED, ORDER_STATUS_CHANGED
+    }
+}
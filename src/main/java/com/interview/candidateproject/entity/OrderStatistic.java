@@ -0,0 +1,90 @@
+package com.interview.candidateproject.entity;
+
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Pre-aggregated order count and revenue per user, status and order day.
+ * Maintained incrementally by {@code OrderStatisticsService} whenever orders
+ * are created, change status or are deleted, and rebuildable from the
+ * orders table. Revenue is kept in integer cents (see {@code Money}) so that
+ * adding to a bucket is exact.
+ */
+@Entity
+@Table(name = "order_stats", indexes = {
+    @Index(name = "idx_order_stats_day", columnList = "order_day"),
+    @Index(name = "idx_order_stats_status_day", columnList = "order_status, order_day")
+})
+public class OrderStatistic {
+    
+    @EmbeddedId
+    private Key id;
+    
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+    
+    @Column(name = "total_cents", nullable = false)
+    private long totalCents;
+    
+    // Constructors
+    public OrderStatistic() {}
+    
+    public OrderStatistic(Key id, long orderCount, long totalCents) {
+        this.id = id;
+        this.orderCount = orderCount;
+        this.totalCents = totalCents;
+    }
+    
+    // Getters and Setters
+    public Key getId() { return id; }
+    public void setId(Key id) { this.id = id; }
+    
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+    
+    public long getTotalCents() { return totalCents; }
+    public void setTotalCents(long totalCents) { this.totalCents = totalCents; }
+    
+    @Embeddable
+    public static class Key implements Serializable {
+        
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+        
+        @Enumerated(EnumType.STRING)
+        @Column(name = "order_status", nullable = false)
+        private OrderStatus orderStatus;
+        
+        @Column(name = "order_day", nullable = false)
+        private LocalDate orderDay;
+        
+        public Key() {}
+        
+        public Key(Long userId, OrderStatus orderStatus, LocalDate orderDay) {
+            this.userId = userId;
+            this.orderStatus = orderStatus;
+            this.orderDay = orderDay;
+        }
+        
+        public Long getUserId() { return userId; }
+        public OrderStatus getOrderStatus() { return orderStatus; }
+        public LocalDate getOrderDay() { return orderDay; }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId)
+                    && orderStatus == key.orderStatus
+                    && Objects.equals(orderDay, key.orderDay);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, orderStatus, orderDay);
+        }
+    }
+}
@@ -4,15 +4,25 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_category_price", columnList = "category, price"),
+    @Index(name = "idx_products_price", columnList = "price"),
+    @Index(name = "idx_products_stock", columnList = "stock_quantity")
+})
 public class Product {
     
+    // Pooled sequence (a table on SQLite, whose driver cannot return IDENTITY keys here)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Product name is required")
@@ -0,0 +1,384 @@
+package com.interview.candidateproject.repository;
+
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.dto.ResourceVersion;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.Product;
+import com.interview.candidateproject.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The cold tier of the order tables: monthly partitions
+ * {@code orders_archive_YYYYMM} and {@code order_items_archive_YYYYMM} with
+ * the columns of {@code orders} and {@code order_items}, listed in
+ * {@code order_archive_partitions} and indexed by order number in
+ * {@code order_archive_index} (see V11 and V12).
+ * 
+ * Orders read from a partition are detached {@link Order} instances whose
+ * user and item products carry only their id.
+ */
+@Repository
+public class OrderArchiveRepository {
+    
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuuMM");
+    
+    private static final String ORDER_COLUMNS =
+            "id, user_id, order_number, total_amount, order_status, order_date, version, stock_reserved, updated_at";
+    
+    private static final String ITEM_COLUMNS = "id, order_id, product_id, quantity, unit_price";
+    
+    /**
+     * Orders of {@code :userId}, through the user index of {@code order_archive_index}.
+     */
+    private static final String USER_CONDITION = "id IN (SELECT order_id FROM order_archive_index WHERE user_id = :userId)";
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    /**
+     * Ids of the oldest {@code limit} orders in one of {@code statuses} placed
+     * before {@code cutoff}, grouped by the month of their order date.
+     */
+    public Map<YearMonth, List<Long>> findArchivableByPartition(Collection<OrderStatus> statuses,
+                                                                LocalDateTime cutoff, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("statuses", statuses.stream().map(OrderStatus::name).toList())
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", limit);
+        Map<YearMonth, List<Long>> partitions = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, order_date FROM orders "
+                        + "WHERE order_status IN (:statuses) AND order_date < :cutoff ORDER BY order_date LIMIT :limit",
+                parameters,
+                rows -> {
+                    YearMonth month = YearMonth.from(rows.getTimestamp("order_date").toLocalDateTime());
+                    partitions.computeIfAbsent(month, key -> new ArrayList<>()).add(rows.getLong("id"));
+                });
+        return partitions;
+    }
+    
+    /**
+     * Copies the orders and their items into the partition for {@code month},
+     * creating it if needed, and deletes them from the hot tables. Must run in
+     * a write transaction.
+     * 
+     * @return the number of orders moved
+     */
+    public int moveToPartition(YearMonth month, Collection<Long> orderIds) {
+        createPartition(month);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ids", orderIds)
+                .addValue("month", month.format(PARTITION_SUFFIX));
+        jdbcTemplate.update("INSERT INTO " + ordersTable(month) + " (" + ORDER_COLUMNS + ") "
+                + "SELECT " + ORDER_COLUMNS + " FROM orders WHERE id IN (:ids)", parameters);
+        jdbcTemplate.update("INSERT INTO " + itemsTable(month) + " (" + ITEM_COLUMNS + ") "
+                + "SELECT " + ITEM_COLUMNS + " FROM order_items WHERE order_id IN (:ids)", parameters);
+        jdbcTemplate.update("INSERT INTO order_archive_index (order_number, order_id, user_id, partition_month) "
+                + "SELECT order_number, id, user_id, :month FROM orders WHERE id IN (:ids)", parameters);
+        jdbcTemplate.update("INSERT INTO order_archive_partitions "
+                + "(partition_month, first_order_date, last_order_date, order_count) "
+                + "SELECT :month, MIN(order_date), MAX(order_date), COUNT(*) FROM orders WHERE id IN (:ids) "
+                + "ON CONFLICT (partition_month) DO UPDATE SET "
+                + "first_order_date = MIN(first_order_date, excluded.first_order_date), "
+                + "last_order_date = MAX(last_order_date, excluded.last_order_date), "
+                + "order_count = order_count + excluded.order_count", parameters);
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (:ids)", parameters);
+        return jdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", parameters);
+    }
+    
+    /**
+     * Partitions holding orders placed between the two dates, oldest first.
+     */
+    public List<YearMonth> findPartitionsOverlapping(LocalDateTime startDate, LocalDateTime endDate) {
+        return partitions(jdbcTemplate.queryForList("SELECT partition_month FROM order_archive_partitions "
+                        + "WHERE last_order_date >= :startDate AND first_order_date <= :endDate "
+                        + "ORDER BY partition_month",
+                dateRange(startDate, endDate), String.class));
+    }
+    
+    /**
+     * Whether any order is archived.
+     */
+    public boolean hasOrders() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS "
+                + "(SELECT 1 FROM order_archive_partitions WHERE order_count > 0)",
+                new MapSqlParameterSource(), Boolean.class));
+    }
+    
+    /**
+     * Every partition, oldest first.
+     */
+    public List<YearMonth> findPartitions() {
+        return partitions(jdbcTemplate.queryForList("SELECT partition_month FROM order_archive_partitions "
+                + "ORDER BY partition_month", new MapSqlParameterSource(), String.class));
+    }
+    
+    /**
+     * Partitions holding orders of the user, oldest first.
+     */
+    public List<YearMonth> findPartitionsByUserId(Long userId) {
+        return partitions(jdbcTemplate.queryForList("SELECT DISTINCT partition_month FROM order_archive_index "
+                + "WHERE user_id = :userId ORDER BY partition_month",
+                new MapSqlParameterSource("userId", userId), String.class));
+    }
+    
+    public List<Order> findByOrderDateBetween(YearMonth partition, LocalDateTime startDate, LocalDateTime endDate) {
+        return findOrders(partition, "order_date BETWEEN :startDate AND :endDate", dateRange(startDate, endDate));
+    }
+    
+    public List<OrderSummary> findSummariesByOrderDateBetween(YearMonth partition, LocalDateTime startDate,
+                                                              LocalDateTime endDate) {
+        return findSummaries(partition, "o.order_date BETWEEN :startDate AND :endDate", dateRange(startDate, endDate));
+    }
+    
+    /**
+     * Hands the summaries in a date range to {@code consumer} as they are read
+     * from the cursor, in id order.
+     */
+    public void forEachSummaryByOrderDateBetween(YearMonth partition, LocalDateTime startDate, LocalDateTime endDate,
+                                                 Consumer<OrderSummary> consumer) {
+        jdbcTemplate.query(summarySelect(partition) + "WHERE o.order_date BETWEEN :startDate AND :endDate ORDER BY o.id",
+                dateRange(startDate, endDate),
+                rows -> {
+                    consumer.accept(summary(rows));
+                });
+    }
+    
+    /**
+     * Orders of the user in one partition, found through the user index of
+     * {@code order_archive_index} rather than by scanning the partition.
+     */
+    public List<Order> findByUserId(YearMonth partition, Long userId) {
+        return findOrders(partition, USER_CONDITION, new MapSqlParameterSource("userId", userId));
+    }
+    
+    public List<OrderSummary> findSummariesByUserId(YearMonth partition, Long userId) {
+        return findSummaries(partition, "o." + USER_CONDITION, new MapSqlParameterSource("userId", userId));
+    }
+    
+    /**
+     * Orders with the status in one partition. Every archived order is
+     * delivered or cancelled, so this reads the whole partition.
+     */
+    public List<Order> findByOrderStatus(YearMonth partition, OrderStatus status) {
+        return findOrders(partition, "order_status = :status", new MapSqlParameterSource("status", status.name()));
+    }
+    
+    public List<OrderSummary> findSummariesByOrderStatus(YearMonth partition, OrderStatus status) {
+        return findSummaries(partition, "o.order_status = :status", new MapSqlParameterSource("status", status.name()));
+    }
+    
+    public Optional<Order> findByOrderNumber(String orderNumber) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("orderNumber", orderNumber);
+        return jdbcTemplate.queryForList("SELECT partition_month FROM order_archive_index "
+                        + "WHERE order_number = :orderNumber", parameters, String.class)
+                .stream()
+                .findFirst()
+                .flatMap(month -> findOrders(YearMonth.parse(month, PARTITION_SUFFIX),
+                        "order_number = :orderNumber", parameters).stream().findFirst());
+    }
+    
+    public Optional<Order> findById(Long id) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("id", id);
+        return findPartitionByOrderId(parameters)
+                .flatMap(partition -> findOrders(partition, "id = :id", parameters).stream().findFirst());
+    }
+    
+    /**
+     * The version and update time an archived order had when it was archived;
+     * archived orders no longer change.
+     */
+    public Optional<ResourceVersion> findVersionById(Long id) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("id", id);
+        return findPartitionByOrderId(parameters)
+                .flatMap(partition -> jdbcTemplate.query("SELECT id, version, updated_at FROM "
+                                + ordersTable(partition) + " WHERE id = :id", parameters,
+                        (rows, rowNum) -> new ResourceVersion(rows.getLong("id"), rows.getLong("version"),
+                                localDateTime(rows.getTimestamp("updated_at"))))
+                        .stream()
+                        .findFirst());
+    }
+    
+    /**
+     * Deletes the archived orders of a user from every partition holding any.
+     * 
+     * @return the number of orders deleted
+     */
+    public int deleteByUserId(Long userId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("userId", userId);
+        int deleted = 0;
+        for (YearMonth partition : findPartitionsByUserId(userId)) {
+            jdbcTemplate.update("DELETE FROM " + itemsTable(partition) + " WHERE order_id IN "
+                    + "(SELECT id FROM " + ordersTable(partition) + " WHERE user_id = :userId)", parameters);
+            int orders = jdbcTemplate.update("DELETE FROM " + ordersTable(partition)
+                    + " WHERE user_id = :userId", parameters);
+            jdbcTemplate.update("UPDATE order_archive_partitions SET order_count = order_count - :orders "
+                    + "WHERE partition_month = :month",
+                    new MapSqlParameterSource("orders", orders).addValue("month", partition.format(PARTITION_SUFFIX)));
+            deleted += orders;
+        }
+        jdbcTemplate.update("DELETE FROM order_archive_index WHERE user_id = :userId", parameters);
+        return deleted;
+    }
+    
+    /**
+     * Streams user id, status, order date and total amount of every archived
+     * order, in the shape of {@link OrderRepository#streamStatisticRows()}.
+     * Must be closed by the caller.
+     */
+    public Stream<Object[]> streamStatisticRows() {
+        List<YearMonth> partitions = findPartitions();
+        if (partitions.isEmpty()) {
+            return Stream.empty();
+        }
+        String sql = partitions.stream()
+                .map(partition -> "SELECT user_id, order_status, order_date, total_amount FROM " + ordersTable(partition))
+                .collect(Collectors.joining(" UNION ALL "));
+        return jdbcTemplate.getJdbcTemplate().queryForStream(sql, (rows, rowNum) -> new Object[] {
+                rows.getLong("user_id"),
+                OrderStatus.valueOf(rows.getString("order_status")),
+                rows.getTimestamp("order_date").toLocalDateTime(),
+                rows.getBigDecimal("total_amount")
+        });
+    }
+    
+    private void createPartition(YearMonth month) {
+        String orders = ordersTable(month);
+        String items = itemsTable(month);
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE IF NOT EXISTS " + orders + " ("
+                + "id INTEGER PRIMARY KEY, "
+                + "user_id INTEGER NOT NULL, "
+                + "order_number TEXT NOT NULL, "
+                + "total_amount DECIMAL(10, 2) NOT NULL, "
+                + "order_status TEXT NOT NULL, "
+                + "order_date DATETIME NOT NULL, "
+                + "version INTEGER NOT NULL, "
+                + "stock_reserved BOOLEAN NOT NULL, "
+                + "updated_at TIMESTAMP)");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE INDEX IF NOT EXISTS idx_" + orders + "_order_date ON "
+                + orders + " (order_date)");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE IF NOT EXISTS " + items + " ("
+                + "id INTEGER PRIMARY KEY, "
+                + "order_id INTEGER NOT NULL, "
+                + "product_id INTEGER NOT NULL, "
+                + "quantity INTEGER NOT NULL, "
+                + "unit_price DECIMAL(10, 2) NOT NULL)");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE INDEX IF NOT EXISTS idx_" + items + "_order ON "
+                + items + " (order_id)");
+    }
+    
+    private Optional<YearMonth> findPartitionByOrderId(MapSqlParameterSource parameters) {
+        return partitions(jdbcTemplate.queryForList("SELECT partition_month FROM order_archive_index "
+                + "WHERE order_id = :id", parameters, String.class))
+                .stream()
+                .findFirst();
+    }
+    
+    private List<OrderSummary> findSummaries(YearMonth partition, String condition, MapSqlParameterSource parameters) {
+        return jdbcTemplate.query(summarySelect(partition) + "WHERE " + condition + " ORDER BY o.id", parameters,
+                (rows, rowNum) -> summary(rows));
+    }
+    
+    private List<Order> findOrders(YearMonth partition, String condition, MapSqlParameterSource parameters) {
+        List<Order> orders = jdbcTemplate.query("SELECT " + ORDER_COLUMNS + " FROM " + ordersTable(partition)
+                + " WHERE " + condition + " ORDER BY id", parameters, (rows, rowNum) -> order(rows));
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        Map<Long, Order> byId = orders.stream().collect(Collectors.toMap(Order::getId, Function.identity(),
+                (first, second) -> first, LinkedHashMap::new));
+        jdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM " + itemsTable(partition)
+                        + " WHERE order_id IN (:ids) ORDER BY id",
+                new MapSqlParameterSource("ids", byId.keySet()),
+                rows -> {
+                    Order order = byId.get(rows.getLong("order_id"));
+                    Product product = new Product();
+                    product.setId(rows.getLong("product_id"));
+                    OrderItem item = new OrderItem(order, product, rows.getInt("quantity"),
+                            rows.getBigDecimal("unit_price"));
+                    item.setId(rows.getLong("id"));
+                    order.getOrderItems().add(item);
+                });
+        return orders;
+    }
+    
+    private static Order order(ResultSet rows) throws SQLException {
+        Order order = new Order();
+        User user = new User();
+        user.setId(rows.getLong("user_id"));
+        order.setId(rows.getLong("id"));
+        order.setUser(user);
+        order.setOrderNumber(rows.getString("order_number"));
+        order.setTotalAmount(rows.getBigDecimal("total_amount"));
+        order.setOrderStatus(OrderStatus.valueOf(rows.getString("order_status")));
+        order.setOrderDate(rows.getTimestamp("order_date").toLocalDateTime());
+        order.setVersion(rows.getLong("version"));
+        order.setStockReserved(rows.getBoolean("stock_reserved"));
+        order.setUpdatedAt(localDateTime(rows.getTimestamp("updated_at")));
+        return order;
+    }
+    
+    private static OrderSummary summary(ResultSet rows) throws SQLException {
+        return new OrderSummary(
+                rows.getLong("id"),
+                rows.getString("order_number"),
+                rows.getLong("user_id"),
+                rows.getBigDecimal("total_amount"),
+                OrderStatus.valueOf(rows.getString("order_status")),
+                rows.getTimestamp("order_date").toLocalDateTime(),
+                rows.getLong("item_count"));
+    }
+    
+    private static LocalDateTime localDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+    
+    private static List<YearMonth> partitions(List<String> months) {
+        return months.stream().map(month -> YearMonth.parse(month, PARTITION_SUFFIX)).toList();
+    }
+    
+    private static MapSqlParameterSource dateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return new MapSqlParameterSource()
+                .addValue("startDate", Timestamp.valueOf(startDate))
+                .addValue("endDate", Timestamp.valueOf(endDate));
+    }
+    
+    /**
+     * The summary columns of {@link OrderSummary} for a partition, with the
+     * orders table aliased {@code o}; the caller appends the condition.
+     */
+    static String summarySelect(YearMonth partition) {
+        return "SELECT o.id, o.order_number, o.user_id, o.total_amount, o.order_status, o.order_date, "
+                + "(SELECT COUNT(*) FROM " + itemsTable(partition) + " i WHERE i.order_id = o.id) AS item_count "
+                + "FROM " + ordersTable(partition) + " o ";
+    }
+    
+    private static String ordersTable(YearMonth month) {
+        return "orders_archive_" + month.format(PARTITION_SUFFIX);
+    }
+    
+    private static String itemsTable(YearMonth month) {
+        return "order_items_archive_" + month.format(PARTITION_SUFFIX);
+    }
+}
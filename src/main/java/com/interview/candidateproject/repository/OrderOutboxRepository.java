@@ -0,0 +1,52 @@
+package com.interview.candidateproject.repository;
+
+import com.interview.candidateproject.dto.OrderEvent;
+import com.interview.candidateproject.entity.OrderOutboxEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEntry, Long> {
+    
+    /**
+     * Appends one event per order, copied from the orders' current rows in
+     * id order. The orders must already be flushed. Declares its table as the
+     * only query space so the write does not invalidate unrelated
+     * second-level cache regions.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_outbox"))
+    @Query(value = "INSERT INTO order_outbox (order_id, user_id, event_type, previous_status, order_status, "
+            + "order_version, total_amount, occurred_at) "
+            + "SELECT id, user_id, :eventType, :previousStatus, order_status, version, total_amount, updated_at "
+            + "FROM orders WHERE id IN (:orderIds) ORDER BY id",
+            nativeQuery = true)
+    int appendFromOrders(@Param("orderIds") Collection<Long> orderIds,
+                         @Param("eventType") String eventType,
+                         @Param("previousStatus") String previousStatus);
+    
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.interview.candidateproject.dto.OrderEvent(e.id, e.eventType, e.orderId, e.userId, "
+            + "e.previousStatus, e.orderStatus, e.orderVersion, e.totalAmount, e.occurredAt) "
+            + "FROM OrderOutboxEntry e ORDER BY e.id")
+    List<OrderEvent> findOldest(Limit limit);
+    
+    @Modifying
+    @Query("UPDATE OrderOutboxEntry e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id IN :ids")
+    int recordFailedAttempt(@Param("ids") Collection<Long> ids, @Param("error") String error);
+    
+    @Modifying
+    @Query("DELETE FROM OrderOutboxEntry e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,31 +1,144 @@
 package com.interview.candidateproject.repository;
 
+import com.interview.candidateproject.dto.OrderStatusRow;
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.dto.ResourceVersion;
 import com.interview.candidateproject.entity.Order;
 import com.interview.candidateproject.entity.Order.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     
+    /**
+     * JDBC fetch size used when streaming orders, so the driver never
+     * buffers more than one window of rows.
+     */
+    String STREAM_FETCH_SIZE = "500";
+    
+    String SUMMARY_SELECT = "SELECT new com.interview.candidateproject.dto.OrderSummary("
+            + "o.id, o.orderNumber, o.user.id, o.totalAmount, o.orderStatus, o.orderDate, "
+            + "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o)) "
+            + "FROM Order o ";
+    
+    /**
+     * Keyset page: the ids of the next {@code limit} orders after the given id.
+     * Pass {@code 0} as {@code afterId} for the first page. Load the page with
+     * {@link #findByIdInOrderByIdAsc}, since a collection fetch join cannot be
+     * combined with a row limit. The NDJSON export walks the whole table the
+     * same way, one window at a time.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.product"})
+    List<Order> findByIdInOrderByIdAsc(Collection<Long> ids);
+    
+    /**
+     * Streams user id, status, order date and total amount of every order,
+     * for rebuilding the order statistics aggregate.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT o.user.id, o.orderStatus, o.orderDate, o.totalAmount FROM Order o")
+    Stream<Object[]> streamStatisticRows();
+    
+    /**
+     * Version and last update of one order, for conditional GETs that can
+     * answer 304 without loading the order graph.
+     */
+    @Query("SELECT new com.interview.candidateproject.dto.ResourceVersion(o.id, o.version, o.updatedAt) " +
+           "FROM Order o WHERE o.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+    
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.product"})
     Optional<Order> findByOrderNumber(String orderNumber);
     
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.product"})
     List<Order> findByUserId(Long userId);
     
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.product"})
     List<Order> findByOrderStatus(OrderStatus orderStatus);
     
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.product"})
     List<Order> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.product"})
     @Query("SELECT o FROM Order o WHERE o.totalAmount >= :minAmount")
     List<Order> findOrdersWithMinimumAmount(@Param("minAmount") BigDecimal minAmount);
     
+    @Query(SUMMARY_SELECT + "WHERE o.user.id = :userId")
+    List<OrderSummary> findSummariesByUserId(@Param("userId") Long userId);
+    
+    @Query(SUMMARY_SELECT + "WHERE o.orderStatus = :status")
+    List<OrderSummary> findSummariesByOrderStatus(@Param("status") OrderStatus status);
+    
+    @Query(SUMMARY_SELECT + "WHERE o.orderDate BETWEEN :startDate AND :endDate")
+    List<OrderSummary> findSummariesByOrderDateBetween(@Param("startDate") LocalDateTime startDate,
+                                                       @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Summaries in a date range ordered by id, read through a forward-only
+     * cursor for the CSV export.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + "WHERE o.orderDate BETWEEN :startDate AND :endDate ORDER BY o.id")
+    Stream<OrderSummary> streamSummariesByOrderDateBetween(@Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate);
+    
+    @Query(SUMMARY_SELECT + "WHERE o.totalAmount >= :minAmount")
+    List<OrderSummary> findSummariesWithMinimumAmount(@Param("minAmount") BigDecimal minAmount);
+    
+    /**
+     * The given order numbers already taken by an order, current or archived.
+     */
+    @Query(value = "SELECT order_number FROM orders WHERE order_number IN (:orderNumbers) " +
+                   "UNION SELECT order_number FROM order_archive_index WHERE order_number IN (:orderNumbers)",
+           nativeQuery = true)
+    Set<String> findExistingOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+    
     @Query("SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId AND o.orderStatus = :status")
     long countByUserIdAndStatus(@Param("userId") Long userId, @Param("status") OrderStatus status);
+    
+    /**
+     * Quantity per product id (Object[] of product id, quantity) over the items
+     * of those orders whose stock was reserved.
+     */
+    @Query("SELECT i.product.id, SUM(i.quantity) FROM OrderItem i " +
+           "WHERE i.order.id IN :orderIds AND i.order.stockReserved = true GROUP BY i.product.id")
+    List<Object[]> sumReservedQuantitiesByProduct(@Param("orderIds") Collection<Long> orderIds);
+    
+    @Query("SELECT new com.interview.candidateproject.dto.OrderStatusRow(o.id, o.orderStatus, o.version, " +
+           "o.user.id, o.orderDate, o.totalAmount) FROM Order o WHERE o.id IN :ids")
+    List<OrderStatusRow> findStatusRows(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :target, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.version = :version AND o.orderStatus = :current")
+    int transitionStatus(@Param("id") Long id, @Param("version") Long version,
+                         @Param("current") OrderStatus current, @Param("target") OrderStatus target,
+                         @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :target, o.version = o.version + 1, o.updatedAt = :now " +
+           "WHERE o.id IN :ids AND o.orderStatus = :current")
+    int transitionStatuses(@Param("ids") Collection<Long> ids,
+                           @Param("current") OrderStatus current, @Param("target") OrderStatus target,
+                           @Param("now") LocalDateTime now);
 }
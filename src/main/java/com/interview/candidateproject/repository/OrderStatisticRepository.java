@@ -0,0 +1,73 @@
+package com.interview.candidateproject.repository;
+
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderStatistic;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderStatisticRepository extends JpaRepository<OrderStatistic, OrderStatistic.Key> {
+    
+    /**
+     * Day, order count and total cents; the service converts the cents to
+     * an amount.
+     */
+    String DAILY_REVENUE_SELECT = "SELECT s.id.orderDay, SUM(s.orderCount), SUM(s.totalCents) FROM OrderStatistic s ";
+    
+    String DAILY_REVENUE_GROUP = "GROUP BY s.id.orderDay HAVING SUM(s.orderCount) > 0 ORDER BY s.id.orderDay";
+    
+    /**
+     * Adds {@code count} orders and {@code cents} to a bucket, creating it if
+     * needed (SQLite/PostgreSQL upsert). Declares its table as the only query
+     * space so the write does not invalidate unrelated second-level cache regions.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_stats"))
+    @Query(value = "INSERT INTO order_stats (user_id, order_status, order_day, order_count, total_cents) "
+            + "VALUES (:userId, :status, :day, :count, :cents) "
+            + "ON CONFLICT (user_id, order_status, order_day) DO UPDATE SET "
+            + "order_count = order_count + excluded.order_count, "
+            + "total_cents = total_cents + excluded.total_cents",
+            nativeQuery = true)
+    int addToBucket(@Param("userId") Long userId,
+                    @Param("status") String status,
+                    @Param("day") LocalDate day,
+                    @Param("count") long count,
+                    @Param("cents") long cents);
+    
+    @Modifying
+    @Query("DELETE FROM OrderStatistic s WHERE s.id.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT COALESCE(SUM(s.orderCount), 0) FROM OrderStatistic s "
+            + "WHERE s.id.userId = :userId AND s.id.orderStatus = :status")
+    long countByUserIdAndStatus(@Param("userId") Long userId, @Param("status") OrderStatus status);
+    
+    // Two queries rather than one with "(:status IS NULL OR ...)", which
+    // keeps the planner from seeking on the status index
+    @Query(DAILY_REVENUE_SELECT + "WHERE s.id.orderDay BETWEEN :from AND :to " + DAILY_REVENUE_GROUP)
+    List<Object[]> findDailyRevenue(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query(DAILY_REVENUE_SELECT + "WHERE s.id.orderStatus = :status AND s.id.orderDay BETWEEN :from AND :to "
+            + DAILY_REVENUE_GROUP)
+    List<Object[]> findDailyRevenueByStatus(@Param("from") LocalDate from,
+                                            @Param("to") LocalDate to,
+                                            @Param("status") OrderStatus status);
+    
+    /**
+     * Status, order count and total cents per status.
+     */
+    @Query("SELECT s.id.orderStatus, SUM(s.orderCount), SUM(s.totalCents) FROM OrderStatistic s "
+            + "WHERE s.id.orderDay BETWEEN :from AND :to "
+            + "GROUP BY s.id.orderStatus HAVING SUM(s.orderCount) > 0 ORDER BY s.id.orderStatus")
+    List<Object[]> findRevenueByStatus(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,17 +1,42 @@
 package com.interview.candidateproject.repository;
 
+import com.interview.candidateproject.dto.ProductSummary;
 import com.interview.candidateproject.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
+    // Catalog lookups are served from the query cache until the products table changes
+    String QUERY_CACHE_REGION = "product-queries";
+    
+    // Query space of the stock updates below. Deliberately not "products": a
+    // reservation would otherwise evict every cached product and catalog query,
+    // so InventoryService evicts just the products it touched instead.
+    String STOCK_QUERY_SPACE = "product_stock";
+    
+    String STREAM_FETCH_SIZE = "1000";
+    
+    String SUMMARY_SELECT = "SELECT new com.interview.candidateproject.dto.ProductSummary("
+            + "p.id, p.name, p.price, p.stockQuantity, p.category) FROM Product p ";
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Product> findByCategory(String category);
     
     List<Product> findByNameContainingIgnoreCase(String name);
@@ -24,6 +49,47 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.stockQuantity < :threshold")
     List<Product> findLowStockProducts(@Param("threshold") Integer threshold);
     
+    /**
+     * Takes {@code quantity} units if that many are in stock, as one
+     * conditional UPDATE. Returns 0 when the product is missing or short.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STOCK_QUERY_SPACE))
+    @Query(value = "UPDATE products SET stock_quantity = stock_quantity - :quantity "
+            + "WHERE id = :id AND stock_quantity >= :quantity", nativeQuery = true)
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STOCK_QUERY_SPACE))
+    @Query(value = "UPDATE products SET stock_quantity = COALESCE(stock_quantity, 0) + :quantity "
+            + "WHERE id = :id", nativeQuery = true)
+    int releaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    /**
+     * Object[] of (id, price) for the given products, for pricing a whole
+     * basket or import chunk in one query.
+     */
+    @Query("SELECT p.id, p.price FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findPricesByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT DISTINCT p.category FROM Product p WHERE p.category IS NOT NULL")
     List<String> findAllCategories();
+    
+    /**
+     * Every product in id order through a forward-only cursor, for loading
+     * the in-memory catalog.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + "ORDER BY p.id")
+    Stream<ProductSummary> streamSummariesOrderedById();
+    
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids ORDER BY p.id")
+    List<ProductSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
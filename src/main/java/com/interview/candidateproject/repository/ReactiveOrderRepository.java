@@ -0,0 +1,138 @@
+package com.interview.candidateproject.repository;
+
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Order summary lookups as {@link Flux} streams, for the {@code /api/rx/orders}
+ * endpoints. Writes stay on the JPA {@link OrderRepository}.
+ * 
+ * There is no R2DBC driver for SQLite, so each query runs in keyset windows
+ * of ids ({@code o.id > ? ORDER BY o.id LIMIT n}) on Reactor's bounded
+ * elastic scheduler, never on a request thread. Each window takes a
+ * connection from the read pool (behind its concurrency limiter when that is
+ * enabled) and returns it before its rows are emitted, so a slow client holds
+ * no connection while it reads, and the next window is only fetched once the
+ * subscriber has asked for more rows than the current one holds.
+ * 
+ * The {@code findArchived...} variants read one monthly archive partition
+ * (see {@link OrderArchiveRepository}) the same way.
+ */
+@Repository
+public class ReactiveOrderRepository {
+    
+    private static final String SUMMARY_SELECT = "SELECT o.id, o.order_number, o.user_id, o.total_amount, "
+            + "o.order_status, o.order_date, "
+            + "(SELECT COUNT(*) FROM order_items i WHERE i.order_id = o.id) AS item_count "
+            + "FROM orders o ";
+    
+    private static final int WINDOW_SIZE = Integer.parseInt(OrderRepository.STREAM_FETCH_SIZE);
+    
+    private final SQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+    
+    @Autowired
+    @Qualifier("readTargetDataSource")
+    private DataSource readDataSource;
+    
+    public Flux<OrderSummary> findSummariesByUserId(Long userId) {
+        return query(SUMMARY_SELECT, "o.user_id = ?", userId);
+    }
+    
+    public Flux<OrderSummary> findSummariesByOrderStatus(OrderStatus status) {
+        return query(SUMMARY_SELECT, "o.order_status = ?", status.name());
+    }
+    
+    public Flux<OrderSummary> findSummariesByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return query(SUMMARY_SELECT, "o.order_date BETWEEN ? AND ?",
+                Timestamp.valueOf(startDate), Timestamp.valueOf(endDate));
+    }
+    
+    public Flux<OrderSummary> findSummariesWithMinimumAmount(BigDecimal minAmount) {
+        return query(SUMMARY_SELECT, "o.total_amount >= ?", minAmount);
+    }
+    
+    public Flux<OrderSummary> findArchivedSummariesByUserId(YearMonth partition, Long userId) {
+        return query(OrderArchiveRepository.summarySelect(partition),
+                "o.id IN (SELECT order_id FROM order_archive_index WHERE user_id = ?)", userId);
+    }
+    
+    public Flux<OrderSummary> findArchivedSummariesByOrderStatus(YearMonth partition, OrderStatus status) {
+        return query(OrderArchiveRepository.summarySelect(partition), "o.order_status = ?", status.name());
+    }
+    
+    public Flux<OrderSummary> findArchivedSummariesByOrderDateBetween(YearMonth partition, LocalDateTime startDate,
+                                                                     LocalDateTime endDate) {
+        return query(OrderArchiveRepository.summarySelect(partition), "o.order_date BETWEEN ? AND ?",
+                Timestamp.valueOf(startDate), Timestamp.valueOf(endDate));
+    }
+    
+    /**
+     * Reads the first window and, while windows come back full, the one after
+     * the last id of the previous window. At most one window waits ahead of
+     * the subscriber.
+     */
+    private Flux<OrderSummary> query(String select, String condition, Object... parameters) {
+        String sql = select + "WHERE " + condition + " AND o.id > ? ORDER BY o.id LIMIT " + WINDOW_SIZE;
+        return window(sql, 0L, parameters)
+                .expand(rows -> rows.size() < WINDOW_SIZE
+                        ? Mono.empty()
+                        : window(sql, rows.get(rows.size() - 1).id(), parameters))
+                .concatMapIterable(Function.identity(), 1);
+    }
+    
+    private Mono<List<OrderSummary>> window(String sql, long afterId, Object... parameters) {
+        return Mono.fromCallable(() -> {
+                    try (Connection connection = readDataSource.getConnection();
+                         PreparedStatement statement = connection.prepareStatement(sql)) {
+                        statement.setFetchSize(WINDOW_SIZE);
+                        for (int i = 0; i < parameters.length; i++) {
+                            statement.setObject(i + 1, parameters[i]);
+                        }
+                        statement.setLong(parameters.length + 1, afterId);
+                        List<OrderSummary> rows = new ArrayList<>(WINDOW_SIZE);
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            while (resultSet.next()) {
+                                rows.add(summary(resultSet));
+                            }
+                        }
+                        return rows;
+                    } catch (SQLException e) {
+                        throw exceptionTranslator.translate("Streaming order summaries", sql, e);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    private static OrderSummary summary(ResultSet rows) throws SQLException {
+        Timestamp orderDate = rows.getTimestamp("order_date");
+        return new OrderSummary(
+                rows.getLong("id"),
+                rows.getString("order_number"),
+                rows.getLong("user_id"),
+                rows.getBigDecimal("total_amount"),
+                OrderStatus.valueOf(rows.getString("order_status")),
+                orderDate == null ? null : orderDate.toLocalDateTime(),
+                rows.getLong("item_count"));
+    }
+}
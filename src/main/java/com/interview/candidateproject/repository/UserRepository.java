@@ -1,26 +1,90 @@
 package com.interview.candidateproject.repository;
 
+import com.interview.candidateproject.dto.ResourceVersion;
+import com.interview.candidateproject.dto.UserSummary;
 import com.interview.candidateproject.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserSearchRepository {
     
+    /**
+     * JDBC fetch size used when streaming users, so the driver never
+     * buffers more than one window of rows.
+     */
+    String STREAM_FETCH_SIZE = "500";
+    
+    String SUMMARY_SELECT = "SELECT new com.interview.candidateproject.dto.UserSummary("
+            + "u.id, u.username, u.email, u.firstName, u.lastName, u.active) "
+            + "FROM User u ";
+    
+    /**
+     * Streams every user in id order. Must be consumed inside a transaction
+     * and closed by the caller. Streamed rows are not put into the
+     * second-level cache.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllOrderedById();
+    
+    /**
+     * Streams the username and email of every user, for loading the
+     * uniqueness filters. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT u.username, u.email FROM User u")
+    Stream<Object[]> streamUsernamesAndEmails();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-queries")
+    })
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
     
+    /**
+     * Last update of one user, for conditional GETs that can answer 304
+     * without loading the user.
+     */
+    @Query("SELECT new com.interview.candidateproject.dto.ResourceVersion(u.id, u.updatedAt) FROM User u WHERE u.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+    
     List<User> findByActiveTrue();
     
+    @Query(SUMMARY_SELECT + "WHERE u.active = true")
+    List<UserSummary> findActiveSummaries();
+    
+    /**
+     * Keyset page: the next {@code limit} users after the given id.
+     * Pass {@code 0} as {@code afterId} for the first page.
+     */
+    @Query(SUMMARY_SELECT + "WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+    
     @Query("SELECT u FROM User u WHERE u.firstName LIKE %:name% OR u.lastName LIKE %:name%")
     List<User> findByNameContaining(@Param("name") String name);
     
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
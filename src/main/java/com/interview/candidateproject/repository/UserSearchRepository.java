@@ -0,0 +1,17 @@
+package com.interview.candidateproject.repository;
+
+import com.interview.candidateproject.entity.User;
+
+import java.util.List;
+
+/**
+ * Name search over users, mixed into {@link UserRepository}.
+ */
+public interface UserSearchRepository {
+
+    /**
+     * Case-insensitive partial match on first or last name, best matches
+     * first, returning at most {@code limit} users.
+     */
+    List<User> searchByName(String name, int limit);
+}
@@ -0,0 +1,113 @@
+package com.interview.candidateproject.repository;
+
+import com.interview.candidateproject.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Uses the {@code users_name_fts} trigram index (see the V3 SQLite migration)
+ * when it exists, ranked by bm25. Terms shorter than a trigram, and databases
+ * without the index, fall back to a bounded case-insensitive LIKE scan.
+ */
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    static final String FTS_TABLE = "users_name_fts";
+
+    private static final int TRIGRAM_LENGTH = 3;
+
+    private static final String FTS_SEARCH_SQL =
+            "SELECT u.* FROM " + FTS_TABLE + " f JOIN users u ON u.id = f.rowid "
+            + "WHERE " + FTS_TABLE + " MATCH :query ORDER BY f.rank LIMIT :limit";
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private volatile Boolean ftsAvailable;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<User> searchByName(String name, int limit) {
+        String[] terms = name.trim().toLowerCase().split("\\s+");
+        boolean indexable = Arrays.stream(terms).allMatch(term -> term.length() >= TRIGRAM_LENGTH);
+
+        if (indexable && isFtsAvailable()) {
+            return entityManager.createNativeQuery(FTS_SEARCH_SQL, User.class)
+                    .setParameter("query", toMatchExpression(terms))
+                    .setParameter("limit", limit)
+                    .getResultList();
+        }
+
+        TypedQuery<User> query = entityManager.createQuery(toLikeQuery(terms.length), User.class);
+        for (int i = 0; i < terms.length; i++) {
+            query.setParameter("term" + i, "%" + escapeLike(terms[i]) + "%");
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * One predicate per term, AND-ed like the FTS terms: each term must occur
+     * in the first or the last name.
+     */
+    private static String toLikeQuery(int terms) {
+        return IntStream.range(0, terms)
+                .mapToObj(i -> "(LOWER(u.firstName) LIKE :term" + i + " ESCAPE '" + LIKE_ESCAPE + "' "
+                        + "OR LOWER(u.lastName) LIKE :term" + i + " ESCAPE '" + LIKE_ESCAPE + "')")
+                .collect(Collectors.joining(" AND ", "SELECT u FROM User u WHERE ", " ORDER BY u.lastName, u.firstName"));
+    }
+
+    /**
+     * Makes {@code %}, {@code _} and the escape character in user input match
+     * literally.
+     */
+    private static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length());
+        for (char c : term.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Quotes each term as an FTS5 string so user input cannot inject query
+     * syntax; the terms are implicitly AND-ed.
+     */
+    private static String toMatchExpression(String[] terms) {
+        return Arrays.stream(terms)
+                .map(term -> "\"" + term.replace("\"", "\"\"") + "\"")
+                .collect(Collectors.joining(" "));
+    }
+
+    private boolean isFtsAvailable() {
+        Boolean available = ftsAvailable;
+        if (available == null) {
+            try (Connection connection = dataSource.getConnection();
+                 ResultSet tables = connection.getMetaData().getTables(null, null, FTS_TABLE, null)) {
+                available = tables.next();
+            } catch (SQLException e) {
+                throw new DataAccessResourceFailureException("Could not inspect schema for " + FTS_TABLE, e);
+            }
+            ftsAvailable = available;
+        }
+        return available;
+    }
+}
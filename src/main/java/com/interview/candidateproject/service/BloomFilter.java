@@ -0,0 +1,77 @@
+package com.interview.candidateproject.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter of strings: {@link #mightContain} never answers
+ * {@code false} for a key that was added, and answers {@code true} for a key
+ * that was not with roughly the configured probability while no more than
+ * the expected number of keys have been added. Keys cannot be removed.
+ */
+final class BloomFilter {
+    
+    private final AtomicLongArray words;
+    
+    private final long bitCount;
+    
+    private final int hashCount;
+    
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long keys = Math.max(1, expectedKeys);
+        long bits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        words = new AtomicLongArray(wordCount);
+        bitCount = wordCount * 64L;
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / keys * Math.log(2)));
+    }
+    
+    void add(String key) {
+        long hash = hash(key);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(hash, i);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, set) -> current | set);
+            }
+        }
+    }
+    
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = bitIndex(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * The {@code i}th of the key's bit positions, derived from the two
+     * halves of one 64-bit hash (Kirsch-Mitzenmacher double hashing).
+     */
+    private long bitIndex(long hash, int i) {
+        long combined = (int) hash + (long) i * (int) (hash >>> 32);
+        return Math.floorMod(combined, bitCount);
+    }
+    
+    /**
+     * FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer so
+     * that both halves are well distributed.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,12 @@
+package com.interview.candidateproject.service;
+
+/**
+ * Thrown when a user would take a username or email that another user
+ * already has. Nothing is saved.
+ */
+public class DuplicateUserException extends RuntimeException {
+    
+    public DuplicateUserException(String message) {
+        super(message);
+    }
+}
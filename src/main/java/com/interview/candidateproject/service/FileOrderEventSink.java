@@ -0,0 +1,45 @@
+package com.interview.candidateproject.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.candidateproject.dto.OrderEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends order events as NDJSON to {@code app.outbox.sinks.file.path}, for
+ * watching the event stream locally ({@code tail -f}).
+ */
+@Component
+@ConditionalOnProperty("app.outbox.sinks.file.path")
+public class FileOrderEventSink implements OrderEventSink {
+    
+    @Value("${app.outbox.sinks.file.path}")
+    private Path path;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Override
+    public synchronized void publish(List<OrderEvent> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OrderEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write order events to " + path, e);
+        }
+    }
+}
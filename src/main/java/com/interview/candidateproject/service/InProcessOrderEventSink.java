@@ -0,0 +1,27 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.OrderEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes each order event as a Spring application event, so in-process
+ * consumers only need an {@code @EventListener} for {@link OrderEvent}.
+ * Listeners run on the dispatcher thread; one that throws fails the batch.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.in-process.enabled", havingValue = "true", matchIfMissing = true)
+public class InProcessOrderEventSink implements OrderEventSink {
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Override
+    public void publish(List<OrderEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,19 @@
+package com.interview.candidateproject.service;
+
+/**
+ * Thrown when an order asks for more units of a product than are in stock.
+ * The surrounding transaction rolls back, so nothing of the order is kept.
+ */
+public class InsufficientStockException extends RuntimeException {
+    
+    private final Long productId;
+    
+    public InsufficientStockException(Long productId, int requested) {
+        super("Insufficient stock for product " + productId + ": " + requested + " requested");
+        this.productId = productId;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,106 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.Product;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code products.stock_quantity} in step with orders: stock is taken
+ * when an order is created and given back when it is cancelled.
+ * 
+ * Every change is a single conditional UPDATE per product, so concurrent
+ * orders for the same product can never oversell or lose an update, and the
+ * row is only written once per transaction however many items name it.
+ * Products are updated in id order so transactions touching the same
+ * products always lock them in the same order.
+ */
+@Service
+public class InventoryService {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private ProductCatalog productCatalog;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    /**
+     * Takes the stock for every item of {@code orders}. Call it after the
+     * orders are persisted: on SQLite the first UPDATE takes the write lock,
+     * and the table-backed id sequences need it from a separate connection.
+     * 
+     * @throws InsufficientStockException if any product is short
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Collection<Order> orders) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (Order order : orders) {
+            for (OrderItem item : order.getOrderItems()) {
+                quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        quantities.forEach((productId, quantity) -> {
+            if (productRepository.reserveStock(productId, quantity) == 0) {
+                throw new InsufficientStockException(productId, quantity);
+            }
+        });
+        evictProducts(quantities.keySet());
+    }
+    
+    /**
+     * Gives back the stock held by the given orders. Orders placed before
+     * reservation existed never took any and are skipped.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Collection<Long> orderIds) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (Object[] row : orderRepository.sumReservedQuantitiesByProduct(orderIds)) {
+            quantities.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        quantities.forEach(productRepository::releaseStock);
+        evictProducts(quantities.keySet());
+    }
+    
+    /**
+     * The stock updates bypass the products cache region (see
+     * {@link ProductRepository#STOCK_QUERY_SPACE}), so drop just the touched
+     * products, now and again once the transaction has finished, and have the
+     * catalog re-read them.
+     */
+    private void evictProducts(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManagerFactory.getCache();
+        List<Long> ids = new ArrayList<>(productIds);
+        ids.forEach(id -> cache.evict(Product.class, id));
+        productCatalog.productsChanged(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ids.forEach(id -> cache.evict(Product.class, id));
+            }
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.interview.candidateproject.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as fixed-point {@code long} cents. Order pricing adds and multiplies
+ * in cents and converts from and to {@link BigDecimal} only at the edges, so
+ * a basket costs no allocation per item.
+ */
+public final class Money {
+    
+    public static final int SCALE = 2;
+    
+    private Money() {
+    }
+    
+    /**
+     * @throws ArithmeticException if the amount does not fit in a {@code long} of cents
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+    
+    /**
+     * @throws ArithmeticException on overflow
+     */
+    public static long lineTotal(long unitCents, int quantity) {
+        return Math.multiplyExact(unitCents, quantity);
+    }
+}
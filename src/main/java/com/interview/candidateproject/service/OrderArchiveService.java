@@ -0,0 +1,281 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.dto.ResourceVersion;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.Product;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderArchiveRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves delivered and cancelled orders older than
+ * {@code app.orders.archive.retention} out of the hot {@code orders} and
+ * {@code order_items} tables into monthly archive partitions (see
+ * {@link OrderArchiveRepository}), so the hot tables and their indexes stay
+ * small enough to remain in the page cache.
+ * 
+ * Archived orders keep their ids, versions, order numbers and statistics.
+ * Lookups by id, order number, user, status and date range read the
+ * partitions they touch; updates, and the other order queries, see only the
+ * hot tables.
+ */
+@Service
+public class OrderArchiveService {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+    
+    private static final Set<OrderStatus> ARCHIVED_STATUSES = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    
+    @Value("${app.orders.archive.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.orders.archive.retention:90d}")
+    private Duration retention;
+    
+    @Value("${app.orders.archive.batch-size:500}")
+    private int batchSize;
+    
+    @Autowired
+    private OrderArchiveRepository archiveRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private final Counter archivedCounter;
+    
+    public OrderArchiveService(MeterRegistry meterRegistry) {
+        archivedCounter = Counter.builder("orders.archived").register(meterRegistry);
+    }
+    
+    @Scheduled(initialDelayString = "${app.orders.archive.interval:PT1H}",
+               fixedDelayString = "${app.orders.archive.interval:PT1H}")
+    public void archiveOnSchedule() {
+        if (!enabled) {
+            return;
+        }
+        int archived = archiveOrders();
+        if (archived > 0) {
+            log.info("Archived {} orders older than {}", archived, retention);
+        }
+    }
+    
+    /**
+     * Archives every eligible order, {@code app.orders.archive.batch-size} at
+     * a time, each batch in its own short write transaction.
+     * 
+     * @return the number of orders archived
+     */
+    public synchronized int archiveOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int archived = 0;
+        while (true) {
+            int moved = transactionTemplate.execute(status -> {
+                Map<YearMonth, List<Long>> batch =
+                        archiveRepository.findArchivableByPartition(ARCHIVED_STATUSES, cutoff, batchSize);
+                int count = 0;
+                for (Map.Entry<YearMonth, List<Long>> partition : batch.entrySet()) {
+                    count += archiveRepository.moveToPartition(partition.getKey(), partition.getValue());
+                }
+                return count;
+            });
+            archived += moved;
+            archivedCounter.increment(moved);
+            if (moved < batchSize) {
+                return archived;
+            }
+        }
+    }
+    
+    /**
+     * Whether any order is archived. Always false with
+     * {@code app.orders.archive.enabled=false}, which also serves databases
+     * without the archive tables (V11 is SQLite-only).
+     */
+    @Transactional(readOnly = true)
+    public boolean hasOrders() {
+        return enabled && archiveRepository.hasOrders();
+    }
+    
+    /**
+     * Archived orders placed between the two dates, reading only the
+     * partitions that cover the range.
+     */
+    @Transactional(readOnly = true)
+    public List<Order> findOrdersInDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        List<Order> orders = new ArrayList<>();
+        for (YearMonth partition : archiveRepository.findPartitionsOverlapping(startDate, endDate)) {
+            orders.addAll(archiveRepository.findByOrderDateBetween(partition, startDate, endDate));
+        }
+        return withReferences(orders);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<OrderSummary> findOrderSummariesInDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        List<OrderSummary> summaries = new ArrayList<>();
+        for (YearMonth partition : archiveRepository.findPartitionsOverlapping(startDate, endDate)) {
+            summaries.addAll(archiveRepository.findSummariesByOrderDateBetween(partition, startDate, endDate));
+        }
+        return summaries;
+    }
+    
+    /**
+     * Hands the archived summaries in a date range to {@code consumer}
+     * partition by partition, as they are read from the cursor.
+     */
+    @Transactional(readOnly = true)
+    public void forEachOrderSummaryInDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                               Consumer<OrderSummary> consumer) {
+        for (YearMonth partition : archiveRepository.findPartitionsOverlapping(startDate, endDate)) {
+            archiveRepository.forEachSummaryByOrderDateBetween(partition, startDate, endDate, consumer);
+        }
+    }
+    
+    /**
+     * Archived orders of the user, reading only the partitions that hold any.
+     */
+    @Transactional(readOnly = true)
+    public List<Order> findOrdersByUserId(Long userId) {
+        List<Order> orders = new ArrayList<>();
+        for (YearMonth partition : archiveRepository.findPartitionsByUserId(userId)) {
+            orders.addAll(archiveRepository.findByUserId(partition, userId));
+        }
+        return withReferences(orders);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<OrderSummary> findOrderSummariesByUserId(Long userId) {
+        List<OrderSummary> summaries = new ArrayList<>();
+        for (YearMonth partition : archiveRepository.findPartitionsByUserId(userId)) {
+            summaries.addAll(archiveRepository.findSummariesByUserId(partition, userId));
+        }
+        return summaries;
+    }
+    
+    /**
+     * Archived orders with the status; none unless it is a status orders are
+     * archived in.
+     */
+    @Transactional(readOnly = true)
+    public List<Order> findOrdersByStatus(OrderStatus status) {
+        List<Order> orders = new ArrayList<>();
+        for (YearMonth partition : findPartitionsHolding(status)) {
+            orders.addAll(archiveRepository.findByOrderStatus(partition, status));
+        }
+        return withReferences(orders);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<OrderSummary> findOrderSummariesByStatus(OrderStatus status) {
+        List<OrderSummary> summaries = new ArrayList<>();
+        for (YearMonth partition : findPartitionsHolding(status)) {
+            summaries.addAll(archiveRepository.findSummariesByOrderStatus(partition, status));
+        }
+        return summaries;
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Order> findOrderById(Long id) {
+        return archiveRepository.findById(id)
+                .map(order -> withReferences(List.of(order)).get(0));
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> findOrderVersion(Long id) {
+        return archiveRepository.findVersionById(id);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Order> findOrderByOrderNumber(String orderNumber) {
+        return archiveRepository.findByOrderNumber(orderNumber)
+                .map(order -> withReferences(List.of(order)).get(0));
+    }
+    
+    /**
+     * The partitions a date range query reads, for callers that stream each
+     * partition themselves ({@link ReactiveOrderService}).
+     */
+    @Transactional(readOnly = true)
+    public List<YearMonth> findPartitionsOverlapping(LocalDateTime startDate, LocalDateTime endDate) {
+        return archiveRepository.findPartitionsOverlapping(startDate, endDate);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<YearMonth> findPartitionsByUserId(Long userId) {
+        return archiveRepository.findPartitionsByUserId(userId);
+    }
+    
+    /**
+     * Every partition for a status orders are archived in, otherwise none.
+     */
+    @Transactional(readOnly = true)
+    public List<YearMonth> findPartitionsHolding(OrderStatus status) {
+        return ARCHIVED_STATUSES.contains(status) ? archiveRepository.findPartitions() : List.of();
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteUserOrders(Long userId) {
+        archiveRepository.deleteByUserId(userId);
+    }
+    
+    /**
+     * Replaces the id-only users and products of archived orders with the
+     * entities, loaded in one query each. A product that no longer exists
+     * stays id-only.
+     */
+    private List<Order> withReferences(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        Map<Long, User> users = userRepository.findAllById(
+                        orders.stream().map(order -> order.getUser().getId()).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Product> products = productRepository.findAllById(orders.stream()
+                        .flatMap(order -> order.getOrderItems().stream())
+                        .map(item -> item.getProduct().getId())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Order order : orders) {
+            order.setUser(users.getOrDefault(order.getUser().getId(), order.getUser()));
+            for (OrderItem item : order.getOrderItems()) {
+                item.setProduct(products.getOrDefault(item.getProduct().getId(), item.getProduct()));
+            }
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,210 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.OrderEvent;
+import com.interview.candidateproject.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the order event outbox to every {@link OrderEventSink} on a single
+ * background thread.
+ * 
+ * <ul>
+ *   <li>At-least-once: a batch is deleted only after every sink accepted it;
+ *       a failure leaves it in place to be delivered again.</li>
+ *   <li>Ordering: events are delivered in outbox id order, which is commit
+ *       order on SQLite's single writer, and a failed batch blocks everything
+ *       behind it, so no order's events are ever delivered out of order.</li>
+ *   <li>Backpressure: sinks are called synchronously with at most
+ *       {@code app.outbox.dispatcher.batch-size} events, so a slow sink slows
+ *       the drain and the backlog waits in the table rather than in memory.
+ *       A failing sink is retried with exponential back-off.</li>
+ * </ul>
+ * 
+ * The thread sleeps until {@link OrderEventService} wakes it after a commit
+ * that wrote events; it also drains once at startup for events left over from
+ * before a restart. It does not poll.
+ */
+@Service
+public class OrderEventDispatcher implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderEventDispatcher.class);
+    
+    @Value("${app.outbox.dispatcher.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.outbox.dispatcher.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${app.outbox.dispatcher.initial-backoff:1s}")
+    private Duration initialBackoff;
+    
+    @Value("${app.outbox.dispatcher.max-backoff:1m}")
+    private Duration maxBackoff;
+    
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+    
+    @Autowired
+    private ObjectProvider<OrderEventSink> sinks;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private final Counter deliveredCounter;
+    
+    private final Counter failureCounter;
+    
+    private final Timer lagTimer;
+    
+    private volatile Thread worker;
+    
+    private volatile boolean wakeUpPending;
+    
+    public OrderEventDispatcher(MeterRegistry meterRegistry) {
+        deliveredCounter = Counter.builder("order.events.delivered").register(meterRegistry);
+        failureCounter = Counter.builder("order.events.failures").register(meterRegistry);
+        lagTimer = Timer.builder("order.events.lag")
+                .description("Time from the order change to its event being accepted by every sink")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Asks the dispatcher to drain the outbox. Cheap and safe to call from
+     * any thread; requests made while a drain is running are not lost.
+     */
+    public void wakeUp() {
+        wakeUpPending = true;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+    
+    /**
+     * Delivers pending events, oldest first, until the outbox is empty.
+     * 
+     * @return the number of events delivered
+     * @throws RuntimeException if a sink or the database fails; the failed
+     *         batch stays in the outbox with its attempt count raised
+     */
+    public synchronized int dispatchPending() {
+        List<OrderEventSink> targets = sinks.orderedStream().toList();
+        int delivered = 0;
+        while (true) {
+            List<OrderEvent> batch = outboxRepository.findOldest(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return delivered;
+            }
+            List<Long> ids = batch.stream().map(OrderEvent::eventId).toList();
+            try {
+                targets.forEach(sink -> sink.publish(batch));
+            } catch (RuntimeException e) {
+                String error = NestedExceptionUtils.getMostSpecificCause(e).toString();
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.recordFailedAttempt(ids, error));
+                failureCounter.increment();
+                throw e;
+            }
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteByIdIn(ids));
+            recordDelivered(batch);
+            delivered += batch.size();
+            if (batch.size() < batchSize) {
+                return delivered;
+            }
+        }
+    }
+    
+    @Override
+    public void start() {
+        wakeUpPending = true;
+        Thread thread = new Thread(this::run, "order-event-dispatcher");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+    
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+    
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+    
+    private void run() {
+        int failures = 0;
+        while (worker == Thread.currentThread()) {
+            if (!wakeUpPending) {
+                LockSupport.park(this);
+                continue;
+            }
+            wakeUpPending = false;
+            try {
+                dispatchPending();
+                failures = 0;
+            } catch (RuntimeException e) {
+                failures++;
+                Duration backoff = backoff(failures);
+                log.warn("Order event delivery failed (attempt {}), retrying in {}: {}",
+                        failures, backoff, NestedExceptionUtils.getMostSpecificCause(e).toString());
+                // Wake-ups during the back-off are deferred, not acted on
+                sleep(backoff);
+                wakeUpPending = true;
+            }
+        }
+    }
+    
+    private Duration backoff(int failures) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(failures - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+    
+    private void sleep(Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        for (long remaining = duration.toNanos(); remaining > 0 && worker == Thread.currentThread();
+             remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+    
+    private void recordDelivered(List<OrderEvent> batch) {
+        deliveredCounter.increment(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (OrderEvent event : batch) {
+            lagTimer.record(Duration.between(event.occurredAt(), now));
+        }
+    }
+}
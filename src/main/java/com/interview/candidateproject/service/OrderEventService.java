@@ -0,0 +1,64 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderOutboxEntry.EventType;
+import com.interview.candidateproject.repository.OrderOutboxRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Writes order lifecycle events to the transactional outbox
+ * ({@code order_outbox}). Like the order statistics, events must be recorded
+ * in the transaction that changes the orders, so they commit or roll back
+ * with them; {@link OrderEventDispatcher} is woken once that transaction commits.
+ */
+@Service
+public class OrderEventService {
+    
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+    
+    @Autowired
+    private OrderEventDispatcher dispatcher;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Order> orders) {
+        // The events are copied from the order rows, which may still be pending
+        entityManager.flush();
+        append(orders.stream().map(Order::getId).toList(), EventType.ORDER_CREATED, null);
+    }
+    
+    /**
+     * Call after the orders, all previously in {@code previousStatus}, have
+     * been moved to their new status.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanges(Collection<Long> orderIds, OrderStatus previousStatus) {
+        append(orderIds, EventType.ORDER_STATUS_CHANGED, previousStatus.name());
+    }
+    
+    private void append(Collection<Long> orderIds, EventType eventType, String previousStatus) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        outboxRepository.appendFromOrders(orderIds, eventType.name(), previousStatus);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wakeUp();
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.OrderEvent;
+
+import java.util.List;
+
+/**
+ * A destination for order events drained from the outbox by
+ * {@link OrderEventDispatcher}. Every {@code OrderEventSink} bean receives
+ * every batch.
+ */
+public interface OrderEventSink {
+    
+    /**
+     * Delivers a batch of events in the order they were recorded. Returning
+     * acknowledges the whole batch; throwing leaves it in the outbox to be
+     * delivered again, to every sink, after a back-off.
+     */
+    void publish(List<OrderEvent> events);
+}
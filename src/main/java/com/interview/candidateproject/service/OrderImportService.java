@@ -0,0 +1,234 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.OrderImportRequest;
+import com.interview.candidateproject.dto.OrderImportResult;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.Product;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk order ingestion. Requests are consumed from an iterator (so a large
+ * NDJSON body is never fully materialized), validated, and inserted in
+ * chunked transactions using JDBC batching. Every request gets a result.
+ */
+@Service
+public class OrderImportService {
+    
+    @Value("${app.orders.import.chunk-size:500}")
+    private int chunkSize;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+    
+    @Autowired
+    private InventoryService inventoryService;
+    
+    @Autowired
+    private OrderEventService orderEventService;
+    
+    @Autowired
+    private OrderPricingService orderPricingService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Imports every request the iterator yields. If the source fails part way
+     * (e.g. a malformed NDJSON line), the orders read so far are still
+     * imported and the failure is reported at its index.
+     */
+    public List<OrderImportResult> importOrders(Iterator<OrderImportRequest> requests) {
+        List<OrderImportResult> results = new ArrayList<>();
+        List<IndexedRequest> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            OrderImportRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (RuntimeException e) {
+                results.addAll(importChunk(chunk));
+                chunk.clear();
+                results.add(OrderImportResult.failed(index, null,
+                        "Unreadable order: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+                break;
+            }
+            chunk.add(new IndexedRequest(index++, request));
+            if (chunk.size() == chunkSize) {
+                results.addAll(importChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk));
+        }
+        return results;
+    }
+    
+    private List<OrderImportResult> importChunk(List<IndexedRequest> chunk) {
+        Map<Integer, OrderImportResult> results = new TreeMap<>();
+        
+        List<IndexedRequest> valid = new ArrayList<>();
+        for (IndexedRequest indexed : chunk) {
+            String error = validate(indexed.request());
+            if (error == null) {
+                valid.add(indexed);
+            } else {
+                results.put(indexed.index(), failed(indexed, error));
+            }
+        }
+        
+        // One set-based lookup per reference type for the whole chunk
+        Set<Long> userIds = valid.stream().map(r -> r.request().userId()).collect(Collectors.toSet());
+        Set<Long> productIds = valid.stream()
+                .flatMap(r -> r.request().items().stream())
+                .map(OrderImportRequest.Item::productId)
+                .collect(Collectors.toSet());
+        Set<String> orderNumbers = valid.stream().map(r -> r.request().orderNumber()).collect(Collectors.toSet());
+        
+        Set<Long> knownUsers = userIds.isEmpty() ? Set.of() : userRepository.findExistingIds(userIds);
+        Map<Long, Long> unitPrices = orderPricingService.findUnitPrices(productIds);
+        Set<String> takenNumbers = orderNumbers.isEmpty() ? Set.of() : orderRepository.findExistingOrderNumbers(orderNumbers);
+        
+        List<PricedRequest> insertable = new ArrayList<>();
+        Set<String> seenNumbers = new HashSet<>();
+        for (IndexedRequest indexed : valid) {
+            OrderImportRequest request = indexed.request();
+            Long missingProduct = request.items().stream()
+                    .map(OrderImportRequest.Item::productId)
+                    .filter(id -> !unitPrices.containsKey(id))
+                    .findFirst()
+                    .orElse(null);
+            if (!knownUsers.contains(request.userId())) {
+                results.put(indexed.index(), failed(indexed, "User not found: " + request.userId()));
+            } else if (missingProduct != null) {
+                results.put(indexed.index(), failed(indexed, "Product not found: " + missingProduct));
+            } else if (takenNumbers.contains(request.orderNumber()) || !seenNumbers.add(request.orderNumber())) {
+                results.put(indexed.index(), failed(indexed, "Order number already exists"));
+            } else {
+                try {
+                    insertable.add(new PricedRequest(indexed, orderPricingService.price(request, unitPrices)));
+                } catch (OrderPricingException e) {
+                    results.put(indexed.index(), failed(indexed, e.getMessage()));
+                }
+            }
+        }
+        
+        if (!insertable.isEmpty()) {
+            try {
+                results.putAll(insert(insertable, unitPrices));
+            } catch (DataAccessException | InsufficientStockException e) {
+                // Something slipped past the checks (e.g. a concurrent insert or
+                // a product running out); retry row by row so only the
+                // offending orders fail
+                for (PricedRequest priced : insertable) {
+                    try {
+                        results.putAll(insert(List.of(priced), unitPrices));
+                    } catch (DataAccessException | InsufficientStockException rowError) {
+                        results.put(priced.indexed().index(), failed(priced.indexed(),
+                                NestedExceptionUtils.getMostSpecificCause(rowError).getMessage()));
+                    }
+                }
+            }
+        }
+        
+        return new ArrayList<>(results.values());
+    }
+    
+    private Map<Integer, OrderImportResult> insert(List<PricedRequest> requests, Map<Long, Long> unitPrices) {
+        return transactionTemplate.execute(status -> {
+            Map<Integer, Order> orders = new LinkedHashMap<>();
+            for (PricedRequest priced : requests) {
+                Order order = toOrder(priced.indexed().request(), priced.totalCents(), unitPrices);
+                entityManager.persist(order);
+                orders.put(priced.indexed().index(), order);
+            }
+            inventoryService.reserve(orders.values());
+            orderStatisticsService.recordCreated(orders.values());
+            orderEventService.recordCreated(orders.values());
+            entityManager.flush();
+            entityManager.clear();
+            
+            Map<Integer, OrderImportResult> created = new LinkedHashMap<>();
+            orders.forEach((index, order) ->
+                    created.put(index, OrderImportResult.created(index, order.getOrderNumber(), order.getId())));
+            return created;
+        });
+    }
+    
+    private Order toOrder(OrderImportRequest request, long totalCents, Map<Long, Long> unitPrices) {
+        User user = entityManager.getReference(User.class, request.userId());
+        Order order = new Order(user, request.orderNumber(), Money.toAmount(totalCents));
+        for (OrderImportRequest.Item item : request.items()) {
+            Product product = entityManager.getReference(Product.class, item.productId());
+            order.getOrderItems().add(new OrderItem(order, product, item.quantity(),
+                    Money.toAmount(unitPrices.get(item.productId()))));
+        }
+        return order;
+    }
+    
+    private String validate(OrderImportRequest request) {
+        if (request == null) {
+            return "Order is required";
+        }
+        Set<ConstraintViolation<OrderImportRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private static OrderImportResult failed(IndexedRequest indexed, String error) {
+        String orderNumber = indexed.request() == null ? null : indexed.request().orderNumber();
+        return OrderImportResult.failed(indexed.index(), orderNumber, error);
+    }
+    
+    private record IndexedRequest(int index, OrderImportRequest request) {
+    }
+    
+    /**
+     * A request that passed pricing, with the total it was priced at.
+     */
+    private record PricedRequest(IndexedRequest indexed, long totalCents) {
+    }
+}
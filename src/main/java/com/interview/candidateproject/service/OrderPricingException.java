@@ -0,0 +1,12 @@
+package com.interview.candidateproject.service;
+
+/**
+ * Thrown when an order cannot be priced from the catalog: an item names an
+ * unknown product, or the client's unit price or total disagrees with it.
+ */
+public class OrderPricingException extends RuntimeException {
+    
+    public OrderPricingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,105 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.OrderImportRequest;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Prices orders on the server. Unit prices come from the catalog, looked up
+ * for all items at once, and the total is summed in {@link Money cents}.
+ * Prices and totals sent by the client are optional, but when present must
+ * match, so a client working from stale prices is told instead of silently
+ * charged something else.
+ */
+@Service
+public class OrderPricingService {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    /**
+     * Current unit price in cents per product id. Unknown ids are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> findUnitPrices(Collection<Long> productIds) {
+        Map<Long, Long> unitPrices = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return unitPrices;
+        }
+        for (Object[] row : productRepository.findPricesByIds(productIds)) {
+            unitPrices.put((Long) row[0], Money.toCents((BigDecimal) row[1]));
+        }
+        return unitPrices;
+    }
+    
+    /**
+     * Sets each item's unit price and the order total from the catalog.
+     * 
+     * @throws OrderPricingException if a product is unknown or a client price disagrees
+     */
+    @Transactional(readOnly = true)
+    public void price(Order order) {
+        Map<Long, Long> unitPrices = findUnitPrices(order.getOrderItems().stream()
+                .map(item -> item.getProduct().getId())
+                .collect(Collectors.toSet()));
+        long total = 0;
+        for (OrderItem item : order.getOrderItems()) {
+            long unitCents = unitPrice(unitPrices, item.getProduct().getId(), item.getUnitPrice());
+            item.setUnitPrice(Money.toAmount(unitCents));
+            total = addLine(total, unitCents, item.getQuantity());
+        }
+        order.setTotalAmount(Money.toAmount(checkTotal(order.getTotalAmount(), total)));
+    }
+    
+    /**
+     * Checks an import request against {@code unitPrices} (from
+     * {@link #findUnitPrices}) and returns its total in cents.
+     * 
+     * @throws OrderPricingException if a product is unknown or a client price disagrees
+     */
+    public long price(OrderImportRequest request, Map<Long, Long> unitPrices) {
+        long total = 0;
+        for (OrderImportRequest.Item item : request.items()) {
+            total = addLine(total, unitPrice(unitPrices, item.productId(), item.unitPrice()), item.quantity());
+        }
+        return checkTotal(request.totalAmount(), total);
+    }
+    
+    private static long unitPrice(Map<Long, Long> unitPrices, Long productId, BigDecimal clientPrice) {
+        Long unitCents = unitPrices.get(productId);
+        if (unitCents == null) {
+            throw new OrderPricingException("Product not found: " + productId);
+        }
+        if (clientPrice != null && clientPrice.compareTo(Money.toAmount(unitCents)) != 0) {
+            throw new OrderPricingException("Unit price of product " + productId + " is "
+                    + Money.toAmount(unitCents) + ", not " + clientPrice);
+        }
+        return unitCents;
+    }
+    
+    private static long addLine(long total, long unitCents, int quantity) {
+        try {
+            return Math.addExact(total, Money.lineTotal(unitCents, quantity));
+        } catch (ArithmeticException e) {
+            throw new OrderPricingException("Order total is too large");
+        }
+    }
+    
+    private static long checkTotal(BigDecimal clientTotal, long total) {
+        if (clientTotal != null && clientTotal.compareTo(Money.toAmount(total)) != 0) {
+            throw new OrderPricingException("Total amount " + clientTotal + " does not match items total "
+                    + Money.toAmount(total));
+        }
+        return total;
+    }
+}
@@ -1,64 +1,376 @@
 package com.interview.candidateproject.service;
 
+import com.interview.candidateproject.dto.KeysetPage;
+import com.interview.candidateproject.dto.OrderStatusRow;
+import com.interview.candidateproject.dto.OrderStatusTransitionReport;
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.dto.ResourceVersion;
 import com.interview.candidateproject.entity.Order;
 import com.interview.candidateproject.entity.Order.OrderStatus;
 import com.interview.candidateproject.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
     
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    static final int TRANSITION_CHUNK_SIZE = 500;
+    
+    private static final int MAX_TRANSITION_ATTEMPTS = 3;
+    
+    private static final int STREAM_WINDOW_SIZE = Integer.parseInt(OrderRepository.STREAM_FETCH_SIZE);
+    
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+    
+    @Autowired
+    private OrderPricingService orderPricingService;
+    
+    @Autowired
+    private InventoryService inventoryService;
+    
+    @Autowired
+    private OrderEventService orderEventService;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
     
+    /**
+     * Returns at most {@code limit} orders with an id greater than {@code afterId},
+     * ordered by id. One id beyond the page is read to tell whether another
+     * page follows; only the page itself is loaded.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Order> getOrdersPage(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        KeysetPage<Long> ids = KeysetPage.of(
+                orderRepository.findIdsAfter(afterId == null ? 0L : afterId, Limit.of(pageSize + 1)),
+                pageSize, Function.identity());
+        if (ids.items().isEmpty()) {
+            return new KeysetPage<>(List.of(), null);
+        }
+        return new KeysetPage<>(orderRepository.findByIdInOrderByIdAsc(ids.items()), ids.nextCursor());
+    }
+    
+    /**
+     * Hands every order to {@code consumer} in id order inside a single
+     * read-only transaction. Orders are read in keyset windows of ids, each
+     * loaded with its user, items and products in one query, so the export
+     * takes two statements per window however many orders there are. The
+     * persistence context is cleared after every window so memory stays flat.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<Order> consumer) {
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = orderRepository.findIdsAfter(afterId, Limit.of(STREAM_WINDOW_SIZE));
+            if (ids.isEmpty()) {
+                return;
+            }
+            orderRepository.findByIdInOrderByIdAsc(ids).forEach(consumer);
+            entityManager.clear();
+            if (ids.size() < STREAM_WINDOW_SIZE) {
+                return;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+    
+    /**
+     * Looks in the hot table first and then, through the archive's index, in
+     * the one partition that can hold the order.
+     */
+    @Transactional(readOnly = true)
     public Optional<Order> getOrderById(Long id) {
-        return orderRepository.findById(id);
+        Optional<Order> order = orderRepository.findById(id);
+        return order.isPresent() ? order : orderArchiveService.findOrderById(id);
     }
     
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getOrderVersion(Long id) {
+        Optional<ResourceVersion> version = orderRepository.findVersionById(id);
+        return version.isPresent() ? version : orderArchiveService.findOrderVersion(id);
+    }
+    
+    /**
+     * Looks in the hot table first and then, through the archive's order
+     * number index, in the one partition that can hold the order.
+     */
+    @Transactional(readOnly = true)
     public Optional<Order> getOrderByOrderNumber(String orderNumber) {
-        return orderRepository.findByOrderNumber(orderNumber);
+        Optional<Order> order = orderRepository.findByOrderNumber(orderNumber);
+        return order.isPresent() ? order : orderArchiveService.findOrderByOrderNumber(orderNumber);
     }
     
+    /**
+     * Orders from the hot table plus the user's archived ones, as in
+     * {@link #getOrdersInDateRange}.
+     */
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserId(userId);
+        return archivedThenCurrent(orderArchiveService.findOrdersByUserId(userId),
+                orderRepository.findByUserId(userId));
     }
     
+    /**
+     * Orders from the hot table plus, for delivered and cancelled, the
+     * archived ones, as in {@link #getOrdersInDateRange}.
+     */
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByOrderStatus(status);
+        return archivedThenCurrent(orderArchiveService.findOrdersByStatus(status),
+                orderRepository.findByOrderStatus(status));
     }
     
+    /**
+     * Prices the order from the catalog (see {@link OrderPricingService}),
+     * takes stock for its items and records an {@code ORDER_CREATED} event.
+     * 
+     * Pricing reads in its own read-only transaction first: on SQLite a read
+     * inside the write transaction would keep the table-backed id sequences
+     * from committing their allocation.
+     * 
+     * @throws OrderPricingException if the order cannot be priced; nothing is saved
+     * @throws InsufficientStockException if an item's product is short; nothing is saved
+     */
     public Order createOrder(Order order) {
-        return orderRepository.save(order);
+        orderPricingService.price(order);
+        return transactionTemplate.execute(status -> {
+            Order saved = orderRepository.save(order);
+            inventoryService.reserve(List.of(saved));
+            orderStatisticsService.recordCreated(List.of(saved));
+            orderEventService.recordCreated(List.of(saved));
+            return saved;
+        });
     }
     
+    /**
+     * Moves one order to {@code newStatus} with a conditional UPDATE guarded by
+     * the current status and version. A lost race is retried a bounded number
+     * of times against the freshly read row.
+     * 
+     * @throws IllegalStateException if the state machine forbids the move
+     */
     public Order updateOrderStatus(Long orderId, OrderStatus newStatus) {
-        return orderRepository.findById(orderId)
-                .map(order -> {
-                    order.setOrderStatus(newStatus);
-                    return orderRepository.save(order);
-                })
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+        return withRetry(() -> transactionTemplate.execute(status -> {
+            OrderStatusRow row = orderRepository.findStatusRows(List.of(orderId)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("Order not found"));
+            if (row.orderStatus() != newStatus) {
+                checkTransition(row.orderStatus(), newStatus);
+                if (orderRepository.transitionStatus(orderId, row.version(), row.orderStatus(), newStatus,
+                        LocalDateTime.now()) == 0) {
+                    throw new OptimisticLockingFailureException("Order " + orderId + " was modified concurrently");
+                }
+                orderStatisticsService.recordStatusChanges(List.of(row), newStatus);
+                orderEventService.recordStatusChanges(List.of(orderId), row.orderStatus());
+                if (newStatus == OrderStatus.CANCELLED) {
+                    inventoryService.release(List.of(orderId));
+                }
+            }
+            return orderRepository.findById(orderId).orElseThrow();
+        }));
     }
     
+    /**
+     * Moves many orders to {@code newStatus} with one set-based UPDATE per
+     * source status. Orders are processed in chunks, each in its own short
+     * transaction, so a large request never holds the write lock for long.
+     * Orders that are missing, cannot make the move, or keep losing races are
+     * reported as rejected; the rest of the request still goes through.
+     */
+    public OrderStatusTransitionReport transitionOrderStatuses(Collection<Long> orderIds, OrderStatus newStatus) {
+        List<Long> ids = orderIds.stream().filter(Objects::nonNull).distinct().toList();
+        TransitionTally tally = new TransitionTally();
+        for (int from = 0; from < ids.size(); from += TRANSITION_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + TRANSITION_CHUNK_SIZE, ids.size()));
+            try {
+                tally.add(withRetry(() -> transactionTemplate.execute(status -> transitionChunk(chunk, newStatus))));
+            } catch (ConcurrencyFailureException e) {
+                chunk.forEach(id -> tally.rejected.add(
+                        new OrderStatusTransitionReport.Rejected(id, null, "Order was modified concurrently")));
+            }
+        }
+        return new OrderStatusTransitionReport(newStatus, ids.size(), tally.updated, tally.unchanged, tally.rejected);
+    }
+    
+    /**
+     * Orders from the hot table plus those archived in the monthly partitions
+     * the range overlaps; archived orders come first.
+     */
+    @Transactional(readOnly = true)
     public List<Order> getOrdersInDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return orderRepository.findByOrderDateBetween(startDate, endDate);
+        return archivedThenCurrent(orderArchiveService.findOrdersInDateRange(startDate, endDate),
+                orderRepository.findByOrderDateBetween(startDate, endDate));
     }
     
+    @Transactional(readOnly = true)
     public List<Order> getOrdersWithMinimumAmount(BigDecimal minAmount) {
         return orderRepository.findOrdersWithMinimumAmount(minAmount);
     }
     
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrderSummariesByUserId(Long userId) {
+        return archivedThenCurrent(orderArchiveService.findOrderSummariesByUserId(userId),
+                orderRepository.findSummariesByUserId(userId));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrderSummariesByStatus(OrderStatus status) {
+        return archivedThenCurrent(orderArchiveService.findOrderSummariesByStatus(status),
+                orderRepository.findSummariesByOrderStatus(status));
+    }
+    
+    /**
+     * Summaries from the hot table plus the archive, as in {@link #getOrdersInDateRange}.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrderSummariesInDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return archivedThenCurrent(orderArchiveService.findOrderSummariesInDateRange(startDate, endDate),
+                orderRepository.findSummariesByOrderDateBetween(startDate, endDate));
+    }
+    
+    /**
+     * Hands the summaries in a date range to {@code consumer} as they are read
+     * from the cursor, archived ones first. Summaries are not managed, so
+     * nothing accumulates.
+     */
+    @Transactional(readOnly = true)
+    public void streamOrderSummariesInDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                Consumer<OrderSummary> consumer) {
+        orderArchiveService.forEachOrderSummaryInDateRange(startDate, endDate, consumer);
+        try (Stream<OrderSummary> summaries = orderRepository.streamSummariesByOrderDateBetween(startDate, endDate)) {
+            summaries.forEach(consumer);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrderSummariesWithMinimumAmount(BigDecimal minAmount) {
+        return orderRepository.findSummariesWithMinimumAmount(minAmount);
+    }
+    
+    /**
+     * Served from the order statistics aggregate rather than counting orders.
+     */
     public long countUserOrdersByStatus(Long userId, OrderStatus status) {
-        return orderRepository.countByUserIdAndStatus(userId, status);
+        return orderStatisticsService.countUserOrdersByStatus(userId, status);
+    }
+    
+    private TransitionTally transitionChunk(List<Long> ids, OrderStatus newStatus) {
+        Map<Long, OrderStatusRow> rows = orderRepository.findStatusRows(ids).stream()
+                .collect(Collectors.toMap(OrderStatusRow::id, Function.identity()));
+        
+        TransitionTally tally = new TransitionTally();
+        Map<OrderStatus, List<OrderStatusRow>> movable = new EnumMap<>(OrderStatus.class);
+        for (Long id : ids) {
+            OrderStatusRow row = rows.get(id);
+            if (row == null) {
+                tally.rejected.add(new OrderStatusTransitionReport.Rejected(id, null, "Order not found"));
+            } else if (row.orderStatus() == newStatus) {
+                tally.unchanged++;
+            } else if (!newStatus.canTransitionFrom(row.orderStatus())) {
+                tally.rejected.add(new OrderStatusTransitionReport.Rejected(
+                        id, row.orderStatus(), transitionError(row.orderStatus(), newStatus)));
+            } else {
+                movable.computeIfAbsent(row.orderStatus(), status -> new ArrayList<>()).add(row);
+            }
+        }
+        
+        for (Map.Entry<OrderStatus, List<OrderStatusRow>> entry : movable.entrySet()) {
+            List<Long> sourceIds = entry.getValue().stream().map(OrderStatusRow::id).toList();
+            int updated = orderRepository.transitionStatuses(sourceIds, entry.getKey(), newStatus, LocalDateTime.now());
+            if (updated != sourceIds.size()) {
+                throw new OptimisticLockingFailureException("Orders changed status while being updated");
+            }
+            tally.updated += updated;
+            orderStatisticsService.recordStatusChanges(entry.getValue(), newStatus);
+            orderEventService.recordStatusChanges(sourceIds, entry.getKey());
+            if (newStatus == OrderStatus.CANCELLED) {
+                inventoryService.release(sourceIds);
+            }
+        }
+        return tally;
+    }
+    
+    private static <T> List<T> archivedThenCurrent(List<T> archived, List<T> current) {
+        if (archived.isEmpty()) {
+            return current;
+        }
+        archived.addAll(current);
+        return archived;
+    }
+    
+    private static <T> T withRetry(Supplier<T> attempt) {
+        for (int remaining = MAX_TRANSITION_ATTEMPTS; ; remaining--) {
+            try {
+                return attempt.get();
+            } catch (ConcurrencyFailureException e) {
+                if (remaining == 1) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private static void checkTransition(OrderStatus current, OrderStatus newStatus) {
+        if (!newStatus.canTransitionFrom(current)) {
+            throw new IllegalStateException(transitionError(current, newStatus));
+        }
+    }
+    
+    private static String transitionError(OrderStatus current, OrderStatus newStatus) {
+        return "Cannot change order status from " + current + " to " + newStatus;
+    }
+    
+    private static final class TransitionTally {
+        
+        private int updated;
+        
+        private int unchanged;
+        
+        private final List<OrderStatusTransitionReport.Rejected> rejected = new ArrayList<>();
+        
+        void add(TransitionTally other) {
+            updated += other.updated;
+            unchanged += other.unchanged;
+            rejected.addAll(other.rejected);
+        }
     }
 }
@@ -0,0 +1,190 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.DailyRevenue;
+import com.interview.candidateproject.dto.OrderStatusRow;
+import com.interview.candidateproject.dto.StatusRevenue;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderStatistic;
+import com.interview.candidateproject.repository.OrderArchiveRepository;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.OrderStatisticRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@link OrderStatistic} aggregate (order count and revenue per
+ * user, status and day) and answers dashboard queries from it instead of
+ * scanning the orders table.
+ * 
+ * The {@code record*} methods must run in the transaction that writes the
+ * orders, so the aggregate commits or rolls back with them.
+ */
+@Service
+public class OrderStatisticsService {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderStatisticsService.class);
+    
+    private static final int REBUILD_FLUSH_INTERVAL = 500;
+    
+    @Autowired
+    private OrderStatisticRepository statisticRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Order> orders) {
+        Map<OrderStatistic.Key, Bucket> buckets = new HashMap<>();
+        for (Order order : orders) {
+            buckets.computeIfAbsent(keyOf(order, order.getOrderStatus()), key -> new Bucket())
+                    .add(1, Money.toCents(order.getTotalAmount()));
+        }
+        buckets.forEach(this::apply);
+    }
+    
+    /**
+     * Moves each order's count and amount from its previous status bucket to
+     * {@code newStatus}. Rows already in {@code newStatus} are ignored.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanges(Collection<OrderStatusRow> rows, OrderStatus newStatus) {
+        Map<OrderStatistic.Key, Bucket> buckets = new HashMap<>();
+        for (OrderStatusRow row : rows) {
+            if (row.orderStatus() == newStatus) {
+                continue;
+            }
+            long cents = Money.toCents(row.totalAmount());
+            buckets.computeIfAbsent(keyOf(row, row.orderStatus()), key -> new Bucket())
+                    .add(-1, -cents);
+            buckets.computeIfAbsent(keyOf(row, newStatus), key -> new Bucket())
+                    .add(1, cents);
+        }
+        buckets.forEach(this::apply);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUserDeleted(Long userId) {
+        statisticRepository.deleteByUserId(userId);
+    }
+    
+    /**
+     * Recomputes the whole aggregate from the orders table and the archive.
+     * 
+     * @return the number of aggregate rows written
+     */
+    @Transactional
+    public long rebuild() {
+        statisticRepository.deleteAllInBatch();
+        
+        Map<OrderStatistic.Key, Bucket> buckets = new HashMap<>();
+        try (Stream<Object[]> rows = Stream.concat(
+                orderRepository.streamStatisticRows(), orderArchiveRepository.streamStatisticRows())) {
+            rows.forEach(row -> {
+                OrderStatistic.Key key = new OrderStatistic.Key(
+                        (Long) row[0], (OrderStatus) row[1], ((LocalDateTime) row[2]).toLocalDate());
+                buckets.computeIfAbsent(key, k -> new Bucket()).add(1, Money.toCents((BigDecimal) row[3]));
+            });
+        }
+        
+        int written = 0;
+        for (Map.Entry<OrderStatistic.Key, Bucket> entry : buckets.entrySet()) {
+            entityManager.persist(new OrderStatistic(entry.getKey(), entry.getValue().count, entry.getValue().cents));
+            if (++written % REBUILD_FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return written;
+    }
+    
+    /**
+     * Builds the aggregate on the first start after it was introduced, when
+     * orders exist, current or archived, but no statistics do yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (statisticRepository.count() == 0 && (orderRepository.count() > 0 || orderArchiveService.hasOrders())) {
+            Long rows = transactionTemplate.execute(status -> rebuild());
+            log.info("Order statistics were empty; rebuilt {} rows", rows);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public long countUserOrdersByStatus(Long userId, OrderStatus status) {
+        return statisticRepository.countByUserIdAndStatus(userId, status);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<DailyRevenue> getDailyRevenue(LocalDate from, LocalDate to, OrderStatus status) {
+        List<Object[]> rows = status == null
+                ? statisticRepository.findDailyRevenue(from, to)
+                : statisticRepository.findDailyRevenueByStatus(from, to, status);
+        return rows.stream()
+                .map(row -> new DailyRevenue((LocalDate) row[0], (Long) row[1], Money.toAmount((Long) row[2])))
+                .toList();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<StatusRevenue> getRevenueByStatus(LocalDate from, LocalDate to) {
+        return statisticRepository.findRevenueByStatus(from, to).stream()
+                .map(row -> new StatusRevenue((OrderStatus) row[0], (Long) row[1], Money.toAmount((Long) row[2])))
+                .toList();
+    }
+    
+    private void apply(OrderStatistic.Key key, Bucket bucket) {
+        statisticRepository.addToBucket(key.getUserId(), key.getOrderStatus().name(), key.getOrderDay(),
+                bucket.count, bucket.cents);
+    }
+    
+    private static OrderStatistic.Key keyOf(Order order, OrderStatus status) {
+        return new OrderStatistic.Key(order.getUser().getId(), status, order.getOrderDate().toLocalDate());
+    }
+    
+    private static OrderStatistic.Key keyOf(OrderStatusRow row, OrderStatus status) {
+        return new OrderStatistic.Key(row.userId(), status, row.orderDate().toLocalDate());
+    }
+    
+    private static final class Bucket {
+        
+        private long count;
+        
+        private long cents;
+        
+        Bucket add(long count, long cents) {
+            this.count += count;
+            this.cents = Math.addExact(this.cents, cents);
+            return this;
+        }
+    }
+}
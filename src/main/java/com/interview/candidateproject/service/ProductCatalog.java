@@ -0,0 +1,178 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.ProductSearchCriteria;
+import com.interview.candidateproject.dto.ProductSearchResult;
+import com.interview.candidateproject.dto.ProductSummary;
+import com.interview.candidateproject.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Answers catalog browse queries (category, price range, in stock and name
+ * text, with facet counts) from an in-memory {@link ProductCatalogIndex}
+ * instead of one repository query per filter.
+ * 
+ * The index is loaded once and then kept current incrementally: code that
+ * changes products reports them through {@link #productsChanged} in its
+ * transaction, and after that commits just those products are re-read by id,
+ * before the next search. {@link #rebuild()} reloads everything, for changes
+ * made outside the application.
+ */
+@Service
+public class ProductCatalog {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalog.class);
+    
+    private static final int REFRESH_CHUNK_SIZE = 500;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${app.catalog.price-buckets:10,25,50,100,250,500,1000}")
+    private List<BigDecimal> priceBuckets;
+    
+    @Value("${app.catalog.preload:true}")
+    private boolean preload;
+    
+    // Searches share the read lock; applying changes and swapping in a rebuilt index take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final Set<Long> changedIds = ConcurrentHashMap.newKeySet();
+    
+    private volatile ProductCatalogIndex index;
+    
+    public ProductSearchResult search(ProductSearchCriteria criteria, long afterId, int limit) {
+        if (index == null || !changedIds.isEmpty()) {
+            refresh();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(criteria, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Marks products as changed once the current transaction commits (at
+     * once when there is none); nothing is read until the next search.
+     */
+    public void productsChanged(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(productIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changedIds.addAll(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changedIds.addAll(ids);
+            }
+        });
+    }
+    
+    /**
+     * Reloads the whole catalog into a new index and swaps it in; searches
+     * keep using the old one meanwhile. Returns the number of products.
+     */
+    public synchronized int rebuild() {
+        long started = System.nanoTime();
+        ProductCatalogIndex fresh = new ProductCatalogIndex(priceBuckets);
+        readOnly(() -> {
+            try (Stream<ProductSummary> products = productRepository.streamSummariesOrderedById()) {
+                fresh.load(products);
+            }
+            return null;
+        });
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} products into the catalog in {} ms", fresh.size(), (System.nanoTime() - started) / 1_000_000);
+        return fresh.size();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (preload && index == null) {
+            rebuild();
+        }
+    }
+    
+    /**
+     * Loads the index if needed and applies the pending changes. Synchronized
+     * with {@link #rebuild()}, so changes are re-read in the order they were
+     * reported and never applied to an index that is about to be replaced.
+     */
+    private synchronized void refresh() {
+        if (index == null) {
+            rebuild();
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> pending = changedIds.iterator(); pending.hasNext(); ) {
+            ids.add(pending.next());
+            pending.remove();
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        // New products are appended, so they must arrive in id order
+        ids.sort(null);
+        
+        List<ProductSummary> products = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size()));
+            products.addAll(readOnly(() -> productRepository.findSummariesByIdIn(chunk)));
+        }
+        Set<Long> removed = new HashSet<>(ids);
+        boolean outOfOrder = false;
+        lock.writeLock().lock();
+        try {
+            for (ProductSummary product : products) {
+                removed.remove(product.id());
+                outOfOrder |= !index.upsert(product);
+            }
+            removed.forEach(index::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (outOfOrder) {
+            rebuild();
+        }
+    }
+    
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,398 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.KeysetPage;
+import com.interview.candidateproject.dto.ProductSearchCriteria;
+import com.interview.candidateproject.dto.ProductSearchResult;
+import com.interview.candidateproject.dto.ProductSearchResult.PriceBucket;
+import com.interview.candidateproject.dto.ProductSummary;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Column-oriented copy of the product catalog behind {@link ProductCatalog}.
+ * 
+ * Products sit at positions in id order. Each attribute is a primitive array
+ * indexed by position, and set membership (live, in stock, each category,
+ * each price bucket) is a bitmap with 64 positions per {@code long}. A search
+ * combines filters a word at a time and counts facets with
+ * {@link Long#bitCount}. A separate permutation of the positions ordered by
+ * price turns the part of a price range that cuts through a bucket into one
+ * slice; only the name filter looks at every candidate product.
+ * 
+ * Not thread-safe: {@link ProductCatalog} guards it with a read-write lock.
+ */
+final class ProductCatalogIndex {
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private static final int NO_CATEGORY = -1;
+    
+    // Lower bounds, in cents, of every price bucket but the first
+    private final long[] bucketBounds;
+    
+    private int size;
+    
+    private int liveCount;
+    
+    private long[] ids;
+    
+    private String[] names;
+    
+    // Lower-cased names, the same instance as names[i] when already lower case
+    private String[] searchNames;
+    
+    private long[] priceCents;
+    
+    private int[] stock;
+    
+    private int[] categories;
+    
+    // Positions ordered by price; the first priceOrdered entries are valid
+    private int[] byPrice;
+    
+    private int priceOrdered;
+    
+    private long[] live;
+    
+    private long[] inStock;
+    
+    private final List<String> categoryNames = new ArrayList<>();
+    
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    
+    private final List<long[]> categoryBitmaps = new ArrayList<>();
+    
+    private final long[][] bucketBitmaps;
+    
+    ProductCatalogIndex(List<BigDecimal> priceBucketBounds) {
+        bucketBounds = priceBucketBounds.stream().mapToLong(Money::toCents).sorted().distinct().toArray();
+        ids = new long[INITIAL_CAPACITY];
+        names = new String[INITIAL_CAPACITY];
+        searchNames = new String[INITIAL_CAPACITY];
+        priceCents = new long[INITIAL_CAPACITY];
+        stock = new int[INITIAL_CAPACITY];
+        categories = new int[INITIAL_CAPACITY];
+        byPrice = new int[INITIAL_CAPACITY];
+        live = new long[words(INITIAL_CAPACITY)];
+        inStock = new long[words(INITIAL_CAPACITY)];
+        bucketBitmaps = new long[bucketBounds.length + 1][words(INITIAL_CAPACITY)];
+    }
+    
+    /** Number of products held. */
+    int size() {
+        return liveCount;
+    }
+    
+    /**
+     * Adds or replaces a product. Returns false, leaving the index unchanged,
+     * for a new product whose id is below the highest id held: positions must
+     * stay in id order, so the index has to be rebuilt.
+     */
+    boolean upsert(ProductSummary product) {
+        return put(product, true);
+    }
+    
+    /**
+     * Bulk load into an empty index from a stream in ascending id order; the
+     * price order is sorted once at the end rather than kept on every insert.
+     */
+    void load(Stream<ProductSummary> products) {
+        products.forEach(product -> put(product, false));
+        Integer[] order = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingLong(position -> priceCents[position]));
+        for (int i = 0; i < size; i++) {
+            byPrice[i] = order[i];
+        }
+        priceOrdered = size;
+    }
+    
+    private boolean put(ProductSummary product, boolean keepPriceOrder) {
+        int position = positionOf(product.id());
+        boolean added = position < 0;
+        if (added) {
+            if (size > 0 && product.id() < ids[size - 1]) {
+                return false;
+            }
+            ensureCapacity(size + 1);
+            position = size++;
+            ids[position] = product.id();
+        } else {
+            clearMembership(position);
+        }
+        long previousPrice = priceCents[position];
+        
+        names[position] = product.name();
+        searchNames[position] = product.name() == null ? "" : product.name().toLowerCase(Locale.ROOT);
+        priceCents[position] = product.price() == null ? 0 : Money.toCents(product.price());
+        stock[position] = product.stockQuantity() == null ? 0 : product.stockQuantity();
+        categories[position] = product.category() == null ? NO_CATEGORY : categoryCode(product.category());
+        
+        set(live, position);
+        if (stock[position] > 0) {
+            set(inStock, position);
+        }
+        if (categories[position] != NO_CATEGORY) {
+            set(categoryBitmaps.get(categories[position]), position);
+        }
+        set(bucketBitmaps[bucketOf(priceCents[position])], position);
+        liveCount++;
+        
+        if (keepPriceOrder && (added || previousPrice != priceCents[position])) {
+            if (!added) {
+                int at = priceRank(previousPrice, true);
+                while (byPrice[at] != position) {
+                    at++;
+                }
+                System.arraycopy(byPrice, at + 1, byPrice, at, priceOrdered - at - 1);
+                priceOrdered--;
+            }
+            int at = priceRank(priceCents[position], false);
+            System.arraycopy(byPrice, at, byPrice, at + 1, priceOrdered - at);
+            byPrice[at] = position;
+            priceOrdered++;
+        }
+        return true;
+    }
+    
+    void remove(long id) {
+        int position = positionOf(id);
+        if (position >= 0) {
+            clearMembership(position);
+            names[position] = null;
+            searchNames[position] = null;
+        }
+    }
+    
+    ProductSearchResult search(ProductSearchCriteria criteria, long afterId, int limit) {
+        int words = words(size);
+        
+        long[] base = Arrays.copyOf(criteria.inStockOnly() ? inStock : live, words);
+        if (criteria.text() != null && !criteria.text().isBlank()) {
+            String text = criteria.text().strip().toLowerCase(Locale.ROOT);
+            for (int position = nextMatch(base, base, 0, words); position >= 0; position = nextMatch(base, base, position + 1, words)) {
+                if (!searchNames[position].contains(text)) {
+                    clear(base, position);
+                }
+            }
+        }
+        long[] category = categoryFilter(criteria.category(), words);
+        long[] price = priceFilter(criteria.minPrice(), criteria.maxPrice(), words);
+        
+        // Each facet is counted over the matches of every other filter
+        long[] inCategory = category == null ? base : and(base, category, words);
+        long[] inPriceRange = price == null ? base : and(base, price, words);
+        
+        // One match past the page tells whether another page follows
+        List<ProductSummary> matches = new ArrayList<>(Math.min(limit + 1, 256));
+        int position = firstPositionAfter(afterId);
+        while (matches.size() <= limit && (position = nextMatch(inCategory, inPriceRange, position, words)) >= 0) {
+            matches.add(summaryAt(position));
+            position++;
+        }
+        KeysetPage<ProductSummary> page = KeysetPage.of(matches, limit, ProductSummary::id);
+        
+        Map<String, Long> categoryCounts = new TreeMap<>();
+        for (int code = 0; code < categoryBitmaps.size(); code++) {
+            long count = count(inPriceRange, categoryBitmaps.get(code), words);
+            if (count > 0) {
+                categoryCounts.put(categoryNames.get(code), count);
+            }
+        }
+        List<PriceBucket> bucketCounts = new ArrayList<>(bucketBitmaps.length);
+        for (int bucket = 0; bucket < bucketBitmaps.length; bucket++) {
+            bucketCounts.add(new PriceBucket(
+                    bucket == 0 ? BigDecimal.ZERO.setScale(Money.SCALE) : Money.toAmount(bucketBounds[bucket - 1]),
+                    bucket == bucketBounds.length ? null : Money.toAmount(bucketBounds[bucket]),
+                    count(inCategory, bucketBitmaps[bucket], words)));
+        }
+        
+        return new ProductSearchResult(count(inCategory, inPriceRange, words), page.items(), page.nextCursor(),
+                categoryCounts, bucketCounts);
+    }
+    
+    /** Null for no filter; an empty bitmap for a category no product has. */
+    private long[] categoryFilter(String category, int words) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        Integer code = categoryCodes.get(category);
+        return code == null ? new long[words] : categoryBitmaps.get(code);
+    }
+    
+    /**
+     * Null for no filter. Buckets wholly inside the range are taken a word at
+     * a time; where the range cuts a bucket, its products in range are read
+     * from the price order.
+     */
+    private long[] priceFilter(BigDecimal minPrice, BigDecimal maxPrice, int words) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        long min = minPrice == null ? Long.MIN_VALUE : Money.toCents(minPrice);
+        long max = maxPrice == null ? Long.MAX_VALUE : Money.toCents(maxPrice);
+        long[] mask = new long[words];
+        for (int bucket = 0; bucket < bucketBitmaps.length; bucket++) {
+            long from = bucket == 0 ? Long.MIN_VALUE : bucketBounds[bucket - 1];
+            long last = bucket == bucketBounds.length ? Long.MAX_VALUE : bucketBounds[bucket] - 1;
+            if (last < min || from > max) {
+                continue;
+            }
+            long[] members = bucketBitmaps[bucket];
+            if (from >= min && last <= max) {
+                for (int w = 0; w < words; w++) {
+                    mask[w] |= members[w];
+                }
+                continue;
+            }
+            int end = priceRank(Math.min(max, last), false);
+            for (int i = priceRank(Math.max(min, from), true); i < end; i++) {
+                set(mask, byPrice[i]);
+            }
+        }
+        return mask;
+    }
+    
+    /**
+     * Index in the price order of the first product priced at or above
+     * {@code cents} ({@code inclusive}) or strictly above it.
+     */
+    private int priceRank(long cents, boolean inclusive) {
+        int low = 0;
+        int high = priceOrdered;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            long price = priceCents[byPrice[middle]];
+            if (price < cents || (!inclusive && price == cents)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    private ProductSummary summaryAt(int position) {
+        int category = categories[position];
+        return new ProductSummary(ids[position], names[position], Money.toAmount(priceCents[position]),
+                stock[position], category == NO_CATEGORY ? null : categoryNames.get(category));
+    }
+    
+    private int categoryCode(String category) {
+        Integer code = categoryCodes.get(category);
+        if (code == null) {
+            code = categoryNames.size();
+            categoryNames.add(category);
+            categoryCodes.put(category, code);
+            categoryBitmaps.add(new long[live.length]);
+        }
+        return code;
+    }
+    
+    private int bucketOf(long cents) {
+        int index = Arrays.binarySearch(bucketBounds, cents);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+    
+    private void clearMembership(int position) {
+        if (!isSet(live, position)) {
+            return;
+        }
+        clear(live, position);
+        clear(inStock, position);
+        if (categories[position] != NO_CATEGORY) {
+            clear(categoryBitmaps.get(categories[position]), position);
+        }
+        clear(bucketBitmaps[bucketOf(priceCents[position])], position);
+        liveCount--;
+    }
+    
+    private int positionOf(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index >= 0 ? index : -1;
+    }
+    
+    private int firstPositionAfter(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, grown);
+        names = Arrays.copyOf(names, grown);
+        searchNames = Arrays.copyOf(searchNames, grown);
+        priceCents = Arrays.copyOf(priceCents, grown);
+        stock = Arrays.copyOf(stock, grown);
+        categories = Arrays.copyOf(categories, grown);
+        byPrice = Arrays.copyOf(byPrice, grown);
+        
+        int words = words(grown);
+        live = Arrays.copyOf(live, words);
+        inStock = Arrays.copyOf(inStock, words);
+        categoryBitmaps.replaceAll(bitmap -> Arrays.copyOf(bitmap, words));
+        for (int bucket = 0; bucket < bucketBitmaps.length; bucket++) {
+            bucketBitmaps[bucket] = Arrays.copyOf(bucketBitmaps[bucket], words);
+        }
+    }
+    
+    /** First position at or after {@code from} set in both bitmaps, or -1. */
+    private static int nextMatch(long[] a, long[] b, int from, int words) {
+        int w = from >> 6;
+        if (w >= words) {
+            return -1;
+        }
+        long bits = a[w] & b[w] & (-1L << from);
+        while (bits == 0) {
+            if (++w == words) {
+                return -1;
+            }
+            bits = a[w] & b[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(bits);
+    }
+    
+    private static long[] and(long[] a, long[] b, int words) {
+        long[] result = new long[words];
+        for (int w = 0; w < words; w++) {
+            result[w] = a[w] & b[w];
+        }
+        return result;
+    }
+    
+    private static long count(long[] a, long[] b, int words) {
+        long count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+    
+    private static int words(int positions) {
+        return (positions + 63) >> 6;
+    }
+    
+    private static boolean isSet(long[] bitmap, int position) {
+        return (bitmap[position >> 6] & (1L << position)) != 0;
+    }
+    
+    private static void set(long[] bitmap, int position) {
+        bitmap[position >> 6] |= 1L << position;
+    }
+    
+    private static void clear(long[] bitmap, int position) {
+        bitmap[position >> 6] &= ~(1L << position);
+    }
+}
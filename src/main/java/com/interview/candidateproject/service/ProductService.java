@@ -0,0 +1,65 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.ProductSearchCriteria;
+import com.interview.candidateproject.dto.ProductSearchResult;
+import com.interview.candidateproject.entity.Product;
+import com.interview.candidateproject.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ProductService {
+    
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private ProductCatalog productCatalog;
+    
+    /**
+     * Returns at most {@code limit} matching products with an id greater than
+     * {@code afterId}, ordered by id, with the total and facet counts. Served
+     * from the in-memory catalog, without a query per filter.
+     */
+    public ProductSearchResult searchProducts(ProductSearchCriteria criteria, Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return productCatalog.search(criteria, afterId == null ? 0L : afterId, pageSize);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Product> getProductById(Long id) {
+        return productRepository.findById(id);
+    }
+    
+    @Transactional
+    public Product createProduct(Product product) {
+        Product saved = productRepository.save(product);
+        productCatalog.productsChanged(List.of(saved.getId()));
+        return saved;
+    }
+    
+    @Transactional
+    public Product updateProduct(Long id, Product productDetails) {
+        return productRepository.findById(id)
+                .map(product -> {
+                    product.setName(productDetails.getName());
+                    product.setDescription(productDetails.getDescription());
+                    product.setPrice(productDetails.getPrice());
+                    product.setStockQuantity(productDetails.getStockQuantity());
+                    product.setCategory(productDetails.getCategory());
+                    productCatalog.productsChanged(List.of(id));
+                    return productRepository.save(product);
+                })
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+    }
+    
+    public int rebuildCatalog() {
+        return productCatalog.rebuild();
+    }
+}
@@ -0,0 +1,83 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.OrderEvent;
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.repository.ReactiveOrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Streaming order reads for {@code /api/rx/orders}. Nothing here blocks the
+ * calling thread: queries run when the returned {@link Flux} is subscribed.
+ * 
+ * Lookups by user, status and date range stream the archive partitions they
+ * touch first and then the hot table, as {@link OrderService} does.
+ */
+@Service
+public class ReactiveOrderService {
+    
+    @Autowired
+    private ReactiveOrderRepository reactiveOrderRepository;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @Autowired
+    private StreamingOrderEventSink orderEventSink;
+    
+    public Flux<OrderSummary> getOrderSummariesByUserId(Long userId) {
+        return archivedThenCurrent(() -> orderArchiveService.findPartitionsByUserId(userId),
+                partition -> reactiveOrderRepository.findArchivedSummariesByUserId(partition, userId),
+                reactiveOrderRepository.findSummariesByUserId(userId));
+    }
+    
+    public Flux<OrderSummary> getOrderSummariesByStatus(OrderStatus status) {
+        return archivedThenCurrent(() -> orderArchiveService.findPartitionsHolding(status),
+                partition -> reactiveOrderRepository.findArchivedSummariesByOrderStatus(partition, status),
+                reactiveOrderRepository.findSummariesByOrderStatus(status));
+    }
+    
+    public Flux<OrderSummary> getOrderSummariesInDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return archivedThenCurrent(() -> orderArchiveService.findPartitionsOverlapping(startDate, endDate),
+                partition -> reactiveOrderRepository.findArchivedSummariesByOrderDateBetween(partition, startDate, endDate),
+                reactiveOrderRepository.findSummariesByOrderDateBetween(startDate, endDate));
+    }
+    
+    public Flux<OrderSummary> getOrderSummariesWithMinimumAmount(BigDecimal minAmount) {
+        return reactiveOrderRepository.findSummariesWithMinimumAmount(minAmount);
+    }
+    
+    /**
+     * Order events as they are dispatched from the outbox, optionally only
+     * those of one user.
+     */
+    public Flux<OrderEvent> getOrderEvents(Long userId) {
+        Flux<OrderEvent> events = orderEventSink.events();
+        return userId == null ? events : events.filter(event -> userId.equals(event.userId()));
+    }
+    
+    /**
+     * Looks up the partitions off the calling thread, then streams each of
+     * them in turn and the hot table last.
+     */
+    private static Flux<OrderSummary> archivedThenCurrent(Callable<List<YearMonth>> partitions,
+                                                          Function<YearMonth, Flux<OrderSummary>> archived,
+                                                          Flux<OrderSummary> current) {
+        return Mono.fromCallable(partitions)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(archived)
+                .concatWith(current);
+    }
+}
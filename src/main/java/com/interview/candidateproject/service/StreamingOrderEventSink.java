@@ -0,0 +1,35 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.dto.OrderEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+/**
+ * Fans order events out to streaming clients ({@code GET /api/rx/orders/events})
+ * as they are dispatched, so dashboards no longer long-poll the order lists.
+ * 
+ * Delivery is best effort and live only: a client sees events dispatched
+ * while it is connected, and one that falls more than
+ * {@link #SUBSCRIBER_BUFFER} events behind loses the oldest.
+ */
+@Component
+public class StreamingOrderEventSink implements OrderEventSink {
+    
+    static final int SUBSCRIBER_BUFFER = 1024;
+    
+    private final Sinks.Many<OrderEvent> events = Sinks.many().multicast().directBestEffort();
+    
+    @Override
+    public void publish(List<OrderEvent> batch) {
+        // The dispatcher publishes from one thread at a time, so emission is never contended
+        batch.forEach(events::tryEmitNext);
+    }
+    
+    public Flux<OrderEvent> events() {
+        return events.asFlux().onBackpressureBuffer(SUBSCRIBER_BUFFER, BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
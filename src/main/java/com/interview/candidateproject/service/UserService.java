@@ -1,76 +1,194 @@
 package com.interview.candidateproject.service;
 
+import com.interview.candidateproject.config.SqliteDialect;
+import com.interview.candidateproject.dto.KeysetPage;
+import com.interview.candidateproject.dto.ResourceVersion;
+import com.interview.candidateproject.dto.UserSummary;
 import com.interview.candidateproject.entity.User;
 import com.interview.candidateproject.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
     
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    private static final int STREAM_CLEAR_INTERVAL = Integer.parseInt(UserRepository.STREAM_FETCH_SIZE);
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @Autowired
+    private UserUniquenessGuard uniquenessGuard;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.search.max-results:50}")
+    private int maxSearchResults;
+    
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
     
+    /**
+     * Returns at most {@code limit} users with an id greater than {@code afterId},
+     * ordered by id, reading one more to tell whether another page follows.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<UserSummary> getUsersPage(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return KeysetPage.of(
+                userRepository.findSummariesAfter(afterId == null ? 0L : afterId, Limit.of(pageSize + 1)),
+                pageSize, UserSummary::id);
+    }
+    
+    /**
+     * Hands every user to {@code consumer} one row at a time inside a single
+     * read-only transaction, clearing the persistence context every fetch window.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<User> consumer) {
+        try (Stream<User> users = userRepository.streamAllOrderedById()) {
+            int count = 0;
+            for (User user : (Iterable<User>) users::iterator) {
+                consumer.accept(user);
+                if (++count % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getUserVersion(Long id) {
+        return userRepository.findVersionById(id);
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
     
+    /**
+     * Inserts the user; the unique constraints on username and email decide
+     * whether either is taken. The database is only probed first for a key
+     * the {@link UserUniquenessGuard} may have seen, so creating a new user
+     * normally costs just the insert.
+     * 
+     * @throws DuplicateUserException if the username or email is taken
+     */
     public User createUser(User user) {
-        // Basic validation
-        if (userRepository.existsByUsername(user.getUsername())) {
-            throw new RuntimeException("Username already exists");
+        if (uniquenessGuard.mightHaveUsername(user.getUsername())
+                && userRepository.existsByUsername(user.getUsername())) {
+            throw new DuplicateUserException("Username already exists");
         }
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("Email already exists");
+        if (uniquenessGuard.mightHaveEmail(user.getEmail()) && userRepository.existsByEmail(user.getEmail())) {
+            throw new DuplicateUserException("Email already exists");
         }
-        return userRepository.save(user);
+        User saved = saveUnique(user);
+        uniquenessGuard.add(saved);
+        return saved;
     }
     
+    /**
+     * @throws DuplicateUserException if the new email belongs to another user
+     */
+    @Transactional
     public User updateUser(Long id, User userDetails) {
-        return userRepository.findById(id)
+        User updated = userRepository.findById(id)
                 .map(user -> {
                     user.setFirstName(userDetails.getFirstName());
                     user.setLastName(userDetails.getLastName());
                     user.setEmail(userDetails.getEmail());
                     user.setActive(userDetails.getActive());
-                    return userRepository.save(user);
+                    return saveUnique(user);
                 })
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        uniquenessGuard.add(updated);
+        return updated;
     }
     
+    @Transactional
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        orderArchiveService.deleteUserOrders(id);
+        orderStatisticsService.recordUserDeleted(id);
     }
     
+    @Transactional(readOnly = true)
     public List<User> getActiveUsers() {
         return userRepository.findByActiveTrue();
     }
     
+    @Transactional(readOnly = true)
+    public List<UserSummary> getActiveUserSummaries() {
+        return userRepository.findActiveSummaries();
+    }
+    
     /**
-     * TODO: Implement this method - CANDIDATE TASK #1
-     * 
-     * This method should search for users by name (first name or last name).
-     * It should be case-insensitive and support partial matches.
-     * 
-     * Hint: Reuse all the exiting functions 
+     * Searches users by first or last name, case-insensitively and with
+     * partial matches. Results are ranked best match first and capped at
+     * {@code app.search.max-results}.
      * 
      * @param name The name to search for
      * @return List of users matching the search criteria
      */
+    @Transactional(readOnly = true)
     public List<User> searchUsersByName(String name) {
-        // TODO: Implement this method
-        throw new UnsupportedOperationException("This method needs to be implemented by the candidate");
+        return searchUsersByName(name, maxSearchResults);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<User> searchUsersByName(String name, int limit) {
+        if (name == null || name.isBlank()) {
+            return List.of();
+        }
+        return userRepository.searchByName(name, Math.max(1, Math.min(limit, maxSearchResults)));
+    }
+    
+    /**
+     * Flushes so that a unique constraint violation surfaces here, inside the
+     * caller's transaction, rather than at commit.
+     */
+    private User saveUnique(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation) {
+                if (SqliteDialect.USERS_USERNAME.equals(violation.getConstraintName())) {
+                    throw new DuplicateUserException("Username already exists");
+                }
+                if (SqliteDialect.USERS_EMAIL.equals(violation.getConstraintName())) {
+                    throw new DuplicateUserException("Email already exists");
+                }
+            }
+            throw e;
+        }
     }
     
     /**
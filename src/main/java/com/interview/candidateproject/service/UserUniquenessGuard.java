@@ -0,0 +1,99 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters of every username and email, so that creating a
+ * user probes the database only for a key that might already be taken. A
+ * key the filters have never seen is definitely new.
+ * 
+ * The filters are a shortcut, not the check: a user inserted outside this
+ * application is not in them, and the unique constraints on insert decide.
+ * Deleted users stay in the filters and just cost a probe. Until the filters
+ * are loaded at startup every key counts as possibly taken.
+ */
+@Service
+public class UserUniquenessGuard {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserUniquenessGuard.class);
+    
+    @Value("${app.users.uniqueness.expected-users:1000000}")
+    private long expectedUsers;
+    
+    @Value("${app.users.uniqueness.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private volatile BloomFilter usernames;
+    
+    private volatile BloomFilter emails;
+    
+    private volatile boolean loaded;
+    
+    public boolean mightHaveUsername(String username) {
+        return !loaded || usernames.mightContain(username);
+    }
+    
+    public boolean mightHaveEmail(String email) {
+        return !loaded || emails.mightContain(email);
+    }
+    
+    /**
+     * Records a committed user's username and email.
+     */
+    public void add(User user) {
+        BloomFilter currentUsernames = usernames;
+        BloomFilter currentEmails = emails;
+        if (currentUsernames != null) {
+            currentUsernames.add(user.getUsername());
+            currentEmails.add(user.getEmail());
+        }
+    }
+    
+    /**
+     * Loads the keys of every user with a streamed key-only query. The empty
+     * filters are installed first, so users committed while the query runs
+     * are added by {@link #add} and not missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long started = System.nanoTime();
+        emails = new BloomFilter(expectedUsers, falsePositiveRate);
+        usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        long count = readOnly.execute(status -> {
+            long users = 0;
+            try (Stream<Object[]> keys = userRepository.streamUsernamesAndEmails()) {
+                for (Object[] key : (Iterable<Object[]>) keys::iterator) {
+                    usernames.add((String) key[0]);
+                    emails.add((String) key[1]);
+                    users++;
+                }
+            }
+            return users;
+        });
+        loaded = true;
+        if (count > expectedUsers) {
+            log.warn("{} users exceed app.users.uniqueness.expected-users ({}); more creates will probe the database",
+                    count, expectedUsers);
+        }
+        log.info("Loaded {} users into the uniqueness filters in {} ms", count, (System.nanoTime() - started) / 1_000_000);
+    }
+}
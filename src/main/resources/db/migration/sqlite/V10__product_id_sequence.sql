@@ -0,0 +1,8 @@
+-- Table-backed pooled sequence for Product ids (allocationSize 50), replacing
+-- IDENTITY: the SQLite driver cannot return generated keys by column name, so
+-- products could not be inserted through JPA. Seeded 51 above the current
+-- maximum id, as in V4.
+CREATE TABLE IF NOT EXISTS products_seq (next_val bigint);
+INSERT INTO products_seq (next_val)
+SELECT (SELECT COALESCE(MAX(id), 0) + 51 FROM products)
+WHERE NOT EXISTS (SELECT 1 FROM products_seq);
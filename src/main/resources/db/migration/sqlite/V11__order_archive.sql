@@ -0,0 +1,31 @@
+-- Cold tier for orders (OrderArchiveService). Delivered and cancelled orders past
+-- the retention period move with their items from orders/order_items into monthly
+-- tables orders_archive_YYYYMM and order_items_archive_YYYYMM, which are created
+-- on demand with the same columns.
+
+-- One row per monthly partition, with the order dates it holds, so a date range
+-- query opens only the partitions it overlaps
+CREATE TABLE IF NOT EXISTS order_archive_partitions (
+    partition_month TEXT PRIMARY KEY,
+    first_order_date TIMESTAMP NOT NULL,
+    last_order_date TIMESTAMP NOT NULL,
+    order_count INTEGER NOT NULL
+);
+
+-- The partition of every archived order, for lookups by order number and user
+CREATE TABLE IF NOT EXISTS order_archive_index (
+    order_number TEXT PRIMARY KEY,
+    order_id INTEGER NOT NULL,
+    user_id INTEGER NOT NULL,
+    partition_month TEXT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_archive_index_user ON order_archive_index (user_id, partition_month);
+
+-- Order numbers stay unique across both tiers
+CREATE TRIGGER IF NOT EXISTS orders_archived_order_number
+BEFORE INSERT ON orders
+WHEN EXISTS (SELECT 1 FROM order_archive_index WHERE order_number = NEW.order_number)
+BEGIN
+    SELECT RAISE(ABORT, 'UNIQUE constraint failed: orders.order_number (archived)');
+END;
@@ -0,0 +1,3 @@
+-- Lookups of an archived order by id (GET /api/orders/{id}) find its partition
+-- through order_archive_index, as lookups by order number already do
+CREATE INDEX IF NOT EXISTS idx_order_archive_index_order ON order_archive_index (order_id);
@@ -0,0 +1,3 @@
+-- Daily revenue filtered by status seeks on both columns instead of reading
+-- every status in the day range (OrderStatisticRepository.findDailyRevenueByStatus)
+CREATE INDEX IF NOT EXISTS idx_order_stats_status_day ON order_stats (order_status, order_day);
@@ -0,0 +1,8 @@
+-- Revenue buckets in integer cents. A DECIMAL column has NUMERIC affinity, so
+-- fractional totals were stored as REAL and every upsert added binary
+-- floating-point error; integer additions are exact.
+ALTER TABLE order_stats ADD COLUMN total_cents INTEGER NOT NULL DEFAULT 0;
+
+UPDATE order_stats SET total_cents = CAST(ROUND(total_amount * 100) AS INTEGER);
+
+ALTER TABLE order_stats DROP COLUMN total_amount;
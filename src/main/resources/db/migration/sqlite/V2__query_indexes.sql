@@ -0,0 +1,22 @@
+-- Indexes for the predicates used by OrderRepository and ProductRepository.
+-- Keep in sync with the @Index declarations on the entities.
+
+-- countByUserIdAndStatus (covering) and findByUserId
+CREATE INDEX IF NOT EXISTS idx_orders_user_status ON orders (user_id, order_status);
+-- findByOrderStatus
+CREATE INDEX IF NOT EXISTS idx_orders_status_date ON orders (order_status, order_date);
+-- findByOrderDateBetween
+CREATE INDEX IF NOT EXISTS idx_orders_order_date ON orders (order_date);
+-- findOrdersWithMinimumAmount
+CREATE INDEX IF NOT EXISTS idx_orders_total_amount ON orders (total_amount);
+
+-- Item fetches per order and per product
+CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items (order_id, product_id);
+CREATE INDEX IF NOT EXISTS idx_order_items_product ON order_items (product_id);
+
+-- findByCategory and findAllCategories (covering)
+CREATE INDEX IF NOT EXISTS idx_products_category_price ON products (category, price);
+-- findByPriceBetween
+CREATE INDEX IF NOT EXISTS idx_products_price ON products (price);
+-- findAvailableProducts and findLowStockProducts
+CREATE INDEX IF NOT EXISTS idx_products_stock ON products (stock_quantity);
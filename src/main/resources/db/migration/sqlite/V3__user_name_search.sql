@@ -0,0 +1,29 @@
+-- Trigram full-text index over user names, backing UserService.searchUsersByName.
+-- The trigram tokenizer matches case-insensitive substrings of 3+ characters.
+CREATE VIRTUAL TABLE IF NOT EXISTS users_name_fts USING fts5(
+    first_name,
+    last_name,
+    content = 'users',
+    content_rowid = 'id',
+    tokenize = 'trigram'
+);
+
+INSERT INTO users_name_fts (users_name_fts) VALUES ('rebuild');
+
+-- Keep the index in sync with the users table
+CREATE TRIGGER IF NOT EXISTS users_name_fts_insert AFTER INSERT ON users BEGIN
+    INSERT INTO users_name_fts (rowid, first_name, last_name)
+    VALUES (new.id, new.first_name, new.last_name);
+END;
+
+CREATE TRIGGER IF NOT EXISTS users_name_fts_delete AFTER DELETE ON users BEGIN
+    INSERT INTO users_name_fts (users_name_fts, rowid, first_name, last_name)
+    VALUES ('delete', old.id, old.first_name, old.last_name);
+END;
+
+CREATE TRIGGER IF NOT EXISTS users_name_fts_update AFTER UPDATE OF first_name, last_name ON users BEGIN
+    INSERT INTO users_name_fts (users_name_fts, rowid, first_name, last_name)
+    VALUES ('delete', old.id, old.first_name, old.last_name);
+    INSERT INTO users_name_fts (rowid, first_name, last_name)
+    VALUES (new.id, new.first_name, new.last_name);
+END;
@@ -0,0 +1,13 @@
+-- Table-backed pooled sequences for Order and OrderItem ids (allocationSize 50),
+-- replacing IDENTITY so Hibernate can batch inserts.
+-- Hibernate's pooled optimizer hands out (next_val - 49 .. next_val), so each
+-- table is seeded 51 above the current maximum id to keep the first block clear.
+CREATE TABLE IF NOT EXISTS orders_seq (next_val bigint);
+INSERT INTO orders_seq (next_val)
+SELECT (SELECT COALESCE(MAX(id), 0) + 51 FROM orders)
+WHERE NOT EXISTS (SELECT 1 FROM orders_seq);
+
+CREATE TABLE IF NOT EXISTS order_items_seq (next_val bigint);
+INSERT INTO order_items_seq (next_val)
+SELECT (SELECT COALESCE(MAX(id), 0) + 51 FROM order_items)
+WHERE NOT EXISTS (SELECT 1 FROM order_items_seq);
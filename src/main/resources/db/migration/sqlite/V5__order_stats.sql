@@ -0,0 +1,12 @@
+-- Order count and revenue per user, status and day (entity OrderStatistic).
+-- Filled on first start and kept current by OrderStatisticsService.
+CREATE TABLE IF NOT EXISTS order_stats (
+    user_id INTEGER NOT NULL,
+    order_status TEXT NOT NULL,
+    order_day DATE NOT NULL,
+    order_count INTEGER NOT NULL DEFAULT 0,
+    total_amount DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, order_status, order_day)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_stats_day ON order_stats (order_day);
@@ -0,0 +1,2 @@
+-- Optimistic locking version for Order (@Version)
+ALTER TABLE orders ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Whether an order's items were taken from products.stock_quantity (entity Order).
+-- Orders placed before stock reservation existed never took stock, so they stay 0.
+ALTER TABLE orders ADD COLUMN stock_reserved BOOLEAN NOT NULL DEFAULT 0;
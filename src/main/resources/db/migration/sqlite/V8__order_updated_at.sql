@@ -0,0 +1,4 @@
+-- Last change of an order (entity Order), for ETag/Last-Modified on GET /api/orders/{id}.
+-- Existing orders start from their order date.
+ALTER TABLE orders ADD COLUMN updated_at TIMESTAMP;
+UPDATE orders SET updated_at = order_date;
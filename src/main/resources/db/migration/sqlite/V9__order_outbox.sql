@@ -0,0 +1,16 @@
+-- Transactional outbox of order lifecycle events (entity OrderOutboxEntry).
+-- Rows are written in the transaction that changes the order and deleted by
+-- OrderEventDispatcher once every sink has accepted them.
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    order_id INTEGER NOT NULL,
+    user_id INTEGER NOT NULL,
+    event_type TEXT NOT NULL,
+    previous_status TEXT,
+    order_status TEXT NOT NULL,
+    order_version INTEGER NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT
+);
@@ -8,7 +8,9 @@ import org.springframework.test.context.TestPropertySource;
 @TestPropertySource(properties = {
     "spring.datasource.url=jdbc:h2:mem:testdb",
     "spring.datasource.driver-class-name=org.h2.Driver",
-    "spring.jpa.hibernate.ddl-auto=create-drop"
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    // The archive tables come from the SQLite migrations, which H2 does not run
+    "app.orders.archive.enabled=false"
 })
 class CandidateProjectApplicationTests {
 
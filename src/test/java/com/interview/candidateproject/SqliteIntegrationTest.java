@@ -0,0 +1,36 @@
+package com.interview.candidateproject;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A full application context on its own freshly migrated SQLite database
+ * (see {@link SqliteTestDatabase}), with MockMvc.
+ * 
+ * Test classes that declare the same {@link #properties} share one cached
+ * context and database, so they clean up the tables they use before each test.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@SpringBootTest
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = SqliteTestDatabase.class)
+public @interface SqliteIntegrationTest {
+
+    @AliasFor(annotation = SpringBootTest.class)
+    String[] properties() default {};
+
+    @AliasFor(annotation = SpringBootTest.class)
+    SpringBootTest.WebEnvironment webEnvironment() default SpringBootTest.WebEnvironment.MOCK;
+}
@@ -0,0 +1,54 @@
+package com.interview.candidateproject;
+
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Points each application context at a new SQLite database file, which
+ * Flyway migrates on startup, and deletes the file when the context closes.
+ * Being part of the context configuration rather than a per-class property,
+ * it leaves test contexts free to be cached and shared.
+ */
+public class SqliteTestDatabase implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static final String[] FILE_SUFFIXES = {"", "-wal", "-shm"};
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        Path database = createDatabaseFile();
+        TestPropertyValues.of("spring.datasource.url=jdbc:sqlite:" + database).applyTo(context);
+        context.addApplicationListener(event -> {
+            if (event instanceof ContextClosedEvent closed && closed.getApplicationContext() == context) {
+                delete(database);
+            }
+        });
+    }
+
+    private static Path createDatabaseFile() {
+        try {
+            Path directory = Files.createDirectories(Path.of("target", "test-databases"));
+            Path database = Files.createTempFile(directory, "context-", ".db");
+            // SQLite treats an empty file as a new database
+            return database.toAbsolutePath();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Path database) {
+        for (String suffix : FILE_SUFFIXES) {
+            try {
+                Files.deleteIfExists(Path.of(database + suffix));
+            } catch (IOException e) {
+                // Left for mvn clean
+            }
+        }
+    }
+}
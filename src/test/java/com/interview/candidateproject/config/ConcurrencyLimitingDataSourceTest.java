@@ -0,0 +1,75 @@
+package com.interview.candidateproject.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    private final JdbcDataSource target = new JdbcDataSource();
+
+    {
+        target.setURL("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void timesOutWhenAllPermitsAreHeldAndReleasesOnClose() throws Exception {
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(target, "test", 1, 10, Duration.ofMillis(100));
+
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("timed out after 100ms");
+
+        first.close();
+        first.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+
+        try (Connection second = dataSource.getConnection()) {
+            assertThat(second.isValid(1)).isTrue();
+            assertThat(second.unwrap(org.h2.jdbc.JdbcConnection.class)).isNotNull();
+        }
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void waitingCallerGetsTheReleasedPermit() throws Exception {
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(target, "test", 1, 10, Duration.ofSeconds(5));
+
+        Connection first = dataSource.getConnection();
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        first.close();
+        waiter.get(5, TimeUnit.SECONDS).close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsImmediatelyOnceTheWaitQueueIsFull() throws Exception {
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(target, "test", 1, 0, Duration.ofSeconds(5));
+
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThatThrownBy(dataSource::getConnection)
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("too many requests waiting");
+        }
+    }
+}
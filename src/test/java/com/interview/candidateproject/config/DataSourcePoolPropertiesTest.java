@@ -0,0 +1,84 @@
+package com.interview.candidateproject.config;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code app.datasource.pool.*} bound onto the write and read pools, and
+ * their {@code hikaricp.*} meters tagged by pool name.
+ */
+@SqliteIntegrationTest(properties = {
+    "app.datasource.sqlite.single-writer=false",
+    "app.datasource.pool.write.maximum-pool-size=3",
+    "app.datasource.pool.write.minimum-idle=1",
+    "app.datasource.pool.write.connection-timeout=3s",
+    "app.datasource.pool.write.idle-timeout=7m",
+    "app.datasource.pool.write.max-lifetime=25m",
+    "app.datasource.pool.write.keepalive-time=4m",
+    "app.datasource.pool.write.validation-timeout=1500ms",
+    "app.datasource.pool.write.leak-detection-threshold=15s",
+    "app.datasource.pool.read.maximum-pool-size=6",
+    "app.datasource.pool.read.minimum-idle=2",
+    "app.datasource.pool.read.connection-timeout=4s",
+    "app.datasource.pool.read.idle-timeout=8m",
+    "app.datasource.pool.read.max-lifetime=20m",
+    "app.datasource.pool.read.keepalive-time=3m",
+    "app.datasource.pool.read.validation-timeout=1s",
+    "app.datasource.pool.read.leak-detection-threshold=45s"
+})
+class DataSourcePoolPropertiesTest {
+
+    @Autowired
+    @Qualifier("writeDataSource")
+    private HikariDataSource writeDataSource;
+
+    @Autowired
+    @Qualifier("readDataSource")
+    private HikariDataSource readDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void bindsEachPoolsSettings() {
+        assertThat(writeDataSource.getPoolName()).isEqualTo("InterviewDB-Pool");
+        assertThat(writeDataSource.isReadOnly()).isFalse();
+        assertThat(writeDataSource.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(writeDataSource.getMinimumIdle()).isEqualTo(1);
+        assertThat(writeDataSource.getConnectionTimeout()).isEqualTo(Duration.ofSeconds(3).toMillis());
+        assertThat(writeDataSource.getIdleTimeout()).isEqualTo(Duration.ofMinutes(7).toMillis());
+        assertThat(writeDataSource.getMaxLifetime()).isEqualTo(Duration.ofMinutes(25).toMillis());
+        assertThat(writeDataSource.getKeepaliveTime()).isEqualTo(Duration.ofMinutes(4).toMillis());
+        assertThat(writeDataSource.getValidationTimeout()).isEqualTo(1500);
+        assertThat(writeDataSource.getLeakDetectionThreshold()).isEqualTo(Duration.ofSeconds(15).toMillis());
+
+        assertThat(readDataSource.getPoolName()).isEqualTo("InterviewDB-ReadPool");
+        assertThat(readDataSource.isReadOnly()).isTrue();
+        assertThat(readDataSource.getMaximumPoolSize()).isEqualTo(6);
+        assertThat(readDataSource.getMinimumIdle()).isEqualTo(2);
+        assertThat(readDataSource.getConnectionTimeout()).isEqualTo(Duration.ofSeconds(4).toMillis());
+        assertThat(readDataSource.getIdleTimeout()).isEqualTo(Duration.ofMinutes(8).toMillis());
+        assertThat(readDataSource.getMaxLifetime()).isEqualTo(Duration.ofMinutes(20).toMillis());
+        assertThat(readDataSource.getKeepaliveTime()).isEqualTo(Duration.ofMinutes(3).toMillis());
+        assertThat(readDataSource.getValidationTimeout()).isEqualTo(1000);
+        assertThat(readDataSource.getLeakDetectionThreshold()).isEqualTo(Duration.ofSeconds(45).toMillis());
+    }
+
+    @Test
+    void publishesHikariMetersPerPool() {
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "InterviewDB-Pool").gauge().value())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "InterviewDB-ReadPool").gauge().value())
+                .isEqualTo(6);
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "InterviewDB-Pool").timer()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "InterviewDB-ReadPool").timer()).isNotNull();
+    }
+}
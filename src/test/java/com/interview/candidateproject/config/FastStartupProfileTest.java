@@ -0,0 +1,50 @@
+package com.interview.candidateproject.config;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.service.OrderArchiveService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The {@code fast-startup} profile on a migrated SQLite database: with lazy
+ * beans and deferred repositories the application still serves requests and
+ * runs its schedules.
+ */
+@SqliteIntegrationTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("fast-startup")
+class FastStartupProfileTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private List<ScheduledTaskHolder> scheduledTaskHolders;
+
+    @Test
+    void servesRequestsWithLazyBeansAndDeferredRepositories() {
+        assertThat(restTemplate.getForEntity("/api/users", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.getForEntity("/api/orders", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void scheduledBeansAreCreatedAtStartup() {
+        assertThat(scheduledTaskHolders.stream()
+                .flatMap(holder -> holder.getScheduledTasks().stream())
+                .map(ScheduledTask::getTask)
+                .map(task -> task.getRunnable())
+                .filter(ScheduledMethodRunnable.class::isInstance)
+                .map(runnable -> ((ScheduledMethodRunnable) runnable).getTarget()))
+                .hasAtLeastOneElementOfType(OrderArchiveService.class);
+    }
+}
@@ -0,0 +1,132 @@
+package com.interview.candidateproject.config;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ReactiveOrderRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.SignalType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Which pool work lands on: read-only transactions and the reactive streams
+ * on the read pool, through its concurrency limiter; other transactions on
+ * the write pool. A stalled stream holds none of the read connections.
+ */
+@SqliteIntegrationTest(properties = "app.datasource.pool.limiter.enabled=true")
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReactiveOrderRepository reactiveOrderRepository;
+
+    @Autowired
+    @Qualifier("writeDataSource")
+    private HikariDataSource writeDataSource;
+
+    @Autowired
+    @Qualifier("readDataSource")
+    private HikariDataSource readDataSource;
+
+    @Autowired
+    @Qualifier("readTargetDataSource")
+    private ConcurrencyLimitingDataSource readTargetDataSource;
+
+    @Test
+    void readOnlyTransactionsUseTheReadPoolAndOthersTheWritePool() {
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+
+        int writeConnections = write.execute(status -> {
+            jdbcTemplate.update("INSERT INTO users (id, username, email, first_name, last_name) "
+                    + "VALUES (800001, 'router', 'router@example.com', 'Rou', 'Ter')");
+            return writeDataSource.getHikariPoolMXBean().getActiveConnections();
+        });
+        assertThat(writeConnections).isEqualTo(1);
+
+        int[] readConnections = read.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            return new int[] {readDataSource.getHikariPoolMXBean().getActiveConnections(),
+                    readTargetDataSource.getAvailablePermits()};
+        });
+        assertThat(readConnections).containsExactly(1, readDataSource.getMaximumPoolSize() - 1);
+        assertThat(readTargetDataSource.getAvailablePermits()).isEqualTo(readDataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void stalledStreamHoldsNoReadConnection() throws Exception {
+        int orders = Integer.parseInt(OrderRepository.STREAM_FETCH_SIZE) + 1;
+        jdbcTemplate.update("INSERT OR IGNORE INTO users (id, username, email, first_name, last_name) "
+                + "VALUES (800002, 'stream', 'stream@example.com', 'Str', 'Eam')");
+        jdbcTemplate.update("DELETE FROM orders WHERE user_id = 800002");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            rows.add(new Object[] {"STREAM-" + i, Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (user_id, order_number, total_amount, order_status, order_date) "
+                + "VALUES (800002, ?, 10.00, 'PENDING', ?)", rows);
+
+        List<OrderSummary> received = new CopyOnWriteArrayList<>();
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        BaseSubscriber<OrderSummary> stalled = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(OrderSummary summary) {
+                received.add(summary);
+                first.countDown();
+            }
+
+            @Override
+            protected void hookFinally(SignalType type) {
+                done.countDown();
+            }
+        };
+        reactiveOrderRepository.findSummariesByUserId(800002L).subscribe(stalled);
+        assertThat(first.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Every read connection is free while the client is not reading
+        int maximumPoolSize = readDataSource.getMaximumPoolSize();
+        assertThat(readTargetDataSource.getAvailablePermits()).isEqualTo(maximumPoolSize);
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+        for (int i = 0; i < maximumPoolSize + 1; i++) {
+            Long count = read.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM orders WHERE user_id = 800002", Long.class));
+            assertThat(count).isEqualTo(orders);
+        }
+
+        stalled.request(Long.MAX_VALUE);
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).hasSize(orders);
+        assertThat(received).extracting(OrderSummary::id).isSorted().doesNotHaveDuplicates();
+        assertThat(readTargetDataSource.getAvailablePermits()).isEqualTo(maximumPoolSize);
+    }
+}
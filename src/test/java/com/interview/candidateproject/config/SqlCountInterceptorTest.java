@@ -0,0 +1,54 @@
+package com.interview.candidateproject.config;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Per-request SQL statement counting with the dev-profile header turned on.
+ */
+@SqliteIntegrationTest(properties = "app.observability.sql-count-header=true")
+class SqlCountInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void countsStatementsPerRequest() throws Exception {
+        User user = userRepository.save(new User("observed", "observed@example.com", "Obs", "Erved"));
+        entityManagerFactory.getCache().evictAll();
+
+        mockMvc.perform(get("/api/users/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlCountInterceptor.SQL_COUNT_HEADER, "2"));
+        mockMvc.perform(get("/api/users/{id}", 9999L))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(SqlCountInterceptor.SQL_COUNT_HEADER, "1"));
+
+        DistributionSummary summary = meterRegistry.get(SqlCountInterceptor.METRIC_NAME)
+                .tag("uri", "/api/users/{id}")
+                .summary();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.totalAmount()).isEqualTo(3);
+    }
+}
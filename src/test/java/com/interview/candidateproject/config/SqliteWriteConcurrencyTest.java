@@ -0,0 +1,87 @@
+package com.interview.candidateproject.config;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import com.interview.candidateproject.service.OrderService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent order writes against a SQLite database in WAL mode with a
+ * single writer connection: every write must succeed, none may fail with
+ * SQLITE_BUSY.
+ */
+@SqliteIntegrationTest
+class SqliteWriteConcurrencyTest {
+
+    private static final int WRITERS = 16;
+
+    private static final int ORDERS_PER_WRITER = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("writeDataSource")
+    private HikariDataSource writeDataSource;
+
+    @Test
+    void concurrentOrdersAllCommitThroughTheSingleWriter() throws Exception {
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 10.00, 100000, 'Electronics')");
+        User user = userRepository.save(new User("writer", "writer@example.com", "Single", "Writer"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < ORDERS_PER_WRITER; i++) {
+                        Order order = new Order(user, "W-" + writer + "-" + i, null);
+                        order.getOrderItems().add(new OrderItem(order, productRepository.getReferenceById(1L), 1, null));
+                        orderService.createOrder(order);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(orderRepository.count()).isEqualTo(WRITERS * ORDERS_PER_WRITER);
+        assertThat(jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = 1", Integer.class))
+                .isEqualTo(100000 - WRITERS * ORDERS_PER_WRITER);
+        assertThat(jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class)).isEqualTo("wal");
+        assertThat(writeDataSource.getMaximumPoolSize()).isEqualTo(1);
+    }
+}
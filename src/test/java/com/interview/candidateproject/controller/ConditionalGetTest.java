@@ -0,0 +1,109 @@
+package com.interview.candidateproject.controller;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import com.interview.candidateproject.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag and Last-Modified handling of {@code GET /api/users/{id}} and
+ * {@code GET /api/orders/{id}} against a migrated SQLite database.
+ */
+@SqliteIntegrationTest
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 10.00, 50, 'Electronics')");
+        entityManagerFactory.getCache().evictAll();
+        user = userRepository.save(new User("conditional", "conditional@example.com", "Condi", "Tional"));
+    }
+
+    @Test
+    void orderAnswers304UntilItsStatusChanges() throws Exception {
+        Order order = new Order(user, "C-1", null);
+        order.getOrderItems().add(new OrderItem(order, productRepository.getReferenceById(1L), 1, null));
+        Long id = orderService.createOrder(order).getId();
+
+        String eTag = mockMvc.perform(get("/api/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isEqualTo("W/\"0\"");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        orderService.updateOrderStatus(id, OrderStatus.CONFIRMED);
+        mockMvc.perform(get("/api/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1\""));
+    }
+
+    @Test
+    void userAnswers304ForCurrentTagOrDate() throws Exception {
+        String lastModified = mockMvc.perform(get("/api/users/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/{id}", 9999L).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+}
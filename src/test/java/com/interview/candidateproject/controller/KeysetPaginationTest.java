@@ -0,0 +1,154 @@
+package com.interview.candidateproject.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import com.interview.candidateproject.service.OrderService;
+import com.interview.candidateproject.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pages ({@code afterId}/{@code limit} and {@code X-Next-Cursor}) and
+ * the NDJSON streams of {@code GET /api/orders} and {@code GET /api/users},
+ * on one more row than the largest page.
+ */
+@SqliteIntegrationTest
+class KeysetPaginationTest {
+
+    /** Seeded ids are far above the id sequences so other tests' inserts cannot collide with them. */
+    private static final long FIRST_ID = 900_001;
+
+    private static final int ROWS = OrderService.MAX_PAGE_SIZE + 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> orders = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (long id = FIRST_ID; id < FIRST_ID + ROWS; id++) {
+            users.add(new Object[] {id, "page" + id, "page" + id + "@example.com"});
+            orders.add(new Object[] {id, id, "PAGE-" + id, now});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, username, email, first_name, last_name) VALUES (?, ?, ?, 'Page', 'User')", users);
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, user_id, order_number, total_amount, order_status, order_date) "
+                + "VALUES (?, ?, ?, 10.00, 'PENDING', ?)", orders);
+    }
+
+    @Test
+    void clampsPageSize() throws Exception {
+        for (String path : List.of("/api/orders", "/api/users")) {
+            assertThat(page(path, 0, 0).ids()).containsExactly(FIRST_ID);
+            assertThat(page(path, 0, -5).ids()).containsExactly(FIRST_ID);
+            Page largest = page(path, 0, 5000);
+            assertThat(largest.ids()).hasSize(OrderService.MAX_PAGE_SIZE);
+            assertThat(largest.nextCursor()).isEqualTo(FIRST_ID + OrderService.MAX_PAGE_SIZE - 1);
+        }
+        assertThat(UserService.MAX_PAGE_SIZE).isEqualTo(OrderService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void cursorChainVisitsEveryRowOnceAndEndsOnTheLastPage() throws Exception {
+        for (String path : List.of("/api/orders", "/api/users")) {
+            List<Long> seen = new ArrayList<>();
+            List<Integer> pageSizes = new ArrayList<>();
+            Long cursor = 0L;
+            while (cursor != null) {
+                Page page = page(path, cursor, 400);
+                seen.addAll(page.ids());
+                pageSizes.add(page.ids().size());
+                cursor = page.nextCursor();
+            }
+            assertThat(pageSizes).containsExactly(400, 400, ROWS - 800);
+            assertThat(seen).containsExactlyElementsOf(LongStream.range(FIRST_ID, FIRST_ID + ROWS).boxed().toList());
+        }
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() throws Exception {
+        Page last = page("/api/users", FIRST_ID + ROWS - 11, 10);
+        assertThat(last.ids()).hasSize(10);
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void streamsEveryRowAsNdjson() throws Exception {
+        for (String path : List.of("/api/orders", "/api/users")) {
+            MvcResult started = mockMvc.perform(get(path).accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertThat(lines).hasSize(ROWS);
+            assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(FIRST_ID);
+            assertThat(objectMapper.readTree(lines[ROWS - 1]).get("id").asLong()).isEqualTo(FIRST_ID + ROWS - 1);
+        }
+    }
+
+    private Page page(String path, long afterId, int limit) throws Exception {
+        MvcResult result = mockMvc.perform(get(path)
+                        .param("afterId", String.valueOf(afterId))
+                        .param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : objectMapper.readTree(result.getResponse().getContentAsString())) {
+            ids.add(item.get("id").asLong());
+        }
+        String cursor = result.getResponse().getHeader(OrderController.NEXT_CURSOR_HEADER);
+        return new Page(ids, cursor == null ? null : Long.valueOf(cursor));
+    }
+
+    private record Page(List<Long> ids, Long nextCursor) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.interview.candidateproject.controller;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk import through {@code POST /api/orders/batch} against a migrated SQLite database.
+ */
+@SqliteIntegrationTest(properties = "app.orders.import.chunk-size=2")
+class OrderBatchImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 999.99, 50, 'Electronics')");
+        userId = userRepository.save(new User("importer", "importer@example.com", "Bulk", "Importer")).getId();
+    }
+
+    @Test
+    void importsJsonArrayAndReportsEachOrder() throws Exception {
+        String body = "[" + order("B-1", userId) + "," + order("B-2", userId) + "," + order("B-3", 9999L) + ","
+                + order("B-1", userId) + "," + order("B-4", userId) + "]";
+
+        mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(5))
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[2].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[2].error").value("User not found: 9999"))
+                .andExpect(jsonPath("$.results[3].error").value("Order number already exists"))
+                .andExpect(jsonPath("$.results[4].status").value("CREATED"));
+
+        assertThat(orderRepository.count()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void importsNdjsonUntilFirstUnreadableLine() throws Exception {
+        String body = order("N-1", userId) + "\n"
+                + "{\"userId\":" + userId + ",\"orderNumber\":\"N-2\",\"totalAmount\":0,\"items\":[]}\n"
+                + order("N-3", userId) + "\n"
+                + "{not json}\n"
+                + order("N-5", userId) + "\n";
+
+        mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.results[1].error").value(
+                        "items: At least one item is required; totalAmount: Total amount must be greater than 0"))
+                .andExpect(jsonPath("$.results[3].error").value(startsWith("Unreadable order")));
+
+        assertThat(orderRepository.findByOrderNumber("N-5")).isEmpty();
+    }
+
+    @Test
+    void pricesOrdersFromTheCatalog() throws Exception {
+        String body = "["
+                + "{\"userId\":" + userId + ",\"orderNumber\":\"P-1\",\"totalAmount\":1999.98,"
+                + "\"items\":[{\"productId\":1,\"quantity\":2}]},"
+                + "{\"userId\":" + userId + ",\"orderNumber\":\"P-2\",\"totalAmount\":10.00,"
+                + "\"items\":[{\"productId\":1,\"quantity\":1,\"unitPrice\":10.00}]},"
+                + "{\"userId\":" + userId + ",\"orderNumber\":\"P-3\",\"totalAmount\":999.99,"
+                + "\"items\":[{\"productId\":1,\"quantity\":2}]}]";
+
+        mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].error").value("Unit price of product 1 is 999.99, not 10.00"))
+                .andExpect(jsonPath("$.results[2].error").value("Total amount 999.99 does not match items total 1999.98"));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT unit_price FROM order_items", BigDecimal.class))
+                .isEqualByComparingTo("999.99");
+    }
+
+    private static String order(String orderNumber, Long userId) {
+        return "{\"userId\":" + userId + ",\"orderNumber\":\"" + orderNumber + "\",\"totalAmount\":999.99,"
+                + "\"items\":[{\"productId\":1,\"quantity\":1,\"unitPrice\":999.99}]}";
+    }
+}
@@ -0,0 +1,106 @@
+package com.interview.candidateproject.controller;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code POST /api/orders}: validation of the request and server-side
+ * pricing, against a migrated SQLite database.
+ */
+@SqliteIntegrationTest
+class OrderCreationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 10.00, 50, 'Electronics')");
+        entityManagerFactory.getCache().evictAll();
+        userId = userRepository.save(new User("buyer", "buyer@example.com", "Buy", "Er")).getId();
+    }
+
+    @Test
+    void serverPriceReplacesClientTotal() throws Exception {
+        create(order("C-1", null, "{\"product\":{\"id\":1},\"quantity\":3}"))
+                .andExpect(status().isCreated())
+                .andExpect(content().string(containsString("\"totalAmount\":30.00")))
+                .andExpect(content().string(containsString("\"unitPrice\":10.00")));
+        create(order("C-2", "30", "{\"product\":{\"id\":1},\"quantity\":3,\"unitPrice\":10}"))
+                .andExpect(status().isCreated())
+                .andExpect(content().string(containsString("\"totalAmount\":30.00")));
+
+        assertThat(jdbcTemplate.queryForList("SELECT total_amount FROM orders ORDER BY order_number", BigDecimal.class))
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("30.00"), new BigDecimal("30.00"));
+
+        create(order("C-3", "25.00", "{\"product\":{\"id\":1},\"quantity\":3}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string("X-Error-Message", "Total amount 25.00 does not match items total 30.00"));
+        assertThat(orderRepository.findByOrderNumber("C-3")).isEmpty();
+    }
+
+    @Test
+    void invalidItemIsBadRequest() throws Exception {
+        for (String item : new String[] {
+                "{\"quantity\":1}",
+                "{\"product\":{\"id\":1}}",
+                "{\"product\":{\"id\":1},\"quantity\":0}",
+                "{\"product\":{\"id\":1},\"quantity\":1,\"unitPrice\":-1}"}) {
+            create(order("V-1", null, item)).andExpect(status().isBadRequest());
+        }
+        create(order("V-1", null, "{\"product\":{\"id\":99},\"quantity\":1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string("X-Error-Message", "Product not found: 99"));
+
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    private ResultActions create(String body) throws Exception {
+        return mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private String order(String orderNumber, String totalAmount, String item) {
+        return "{\"user\":{\"id\":" + userId + "},\"orderNumber\":\"" + orderNumber + "\","
+                + (totalAmount == null ? "" : "\"totalAmount\":" + totalAmount + ",")
+                + "\"orderItems\":[" + item + "]}";
+    }
+}
@@ -0,0 +1,125 @@
+package com.interview.candidateproject.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import com.interview.candidateproject.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Binary content negotiation and the streaming CSV export against a migrated
+ * SQLite database.
+ */
+@SqliteIntegrationTest
+class OrderExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Order first;
+
+    private Order second;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 12.50, 50, 'Electronics')");
+        User user = userRepository.save(new User("export", "export@example.com", "Ex", "Port"));
+        first = createOrder(user, "E-1", 1);
+        second = createOrder(user, "E-2,\"gift\"", 2);
+    }
+
+    @Test
+    void exportsDateRangeAsCsv() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/orders/export")
+                        .param("startDate", LocalDateTime.now().minusDays(1).toString())
+                        .param("endDate", LocalDateTime.now().plusDays(1).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(csv.split("\n")).containsExactly(
+                "id,orderNumber,userId,totalAmount,orderStatus,orderDate,itemCount",
+                first.getId() + ",E-1," + first.getUser().getId() + ",12.50,PENDING," + storedOrderDate(first) + ",1",
+                second.getId() + ",\"E-2,\"\"gift\"\"\"," + second.getUser().getId() + ",25.00,PENDING,"
+                        + storedOrderDate(second) + ",1");
+    }
+
+    @Test
+    void negotiatesSmileAndCbor() throws Exception {
+        String path = "/api/orders/" + first.getId();
+
+        byte[] smile = mockMvc.perform(get(path).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get(path).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get(path))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Compared as text: the binary formats keep BigDecimal where JSON parses a double
+        String expected = new ObjectMapper().readTree(json).toString();
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(smile).toString()).isEqualTo(expected);
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(cbor).toString()).isEqualTo(expected);
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    // Read back, since SQLite keeps order dates to the millisecond
+    private LocalDateTime storedOrderDate(Order order) {
+        return orderRepository.findById(order.getId()).orElseThrow().getOrderDate();
+    }
+
+    private Order createOrder(User user, String orderNumber, int quantity) {
+        Order order = new Order(user, orderNumber, null);
+        order.getOrderItems().add(new OrderItem(order, productRepository.getReferenceById(1L), quantity, null));
+        return orderService.createOrder(order);
+    }
+}
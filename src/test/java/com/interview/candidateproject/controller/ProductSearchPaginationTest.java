@@ -0,0 +1,92 @@
+package com.interview.candidateproject.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pages of {@code GET /api/products}: {@code X-Next-Cursor} is sent
+ * only while another page of matches follows.
+ */
+@SqliteIntegrationTest(properties = "app.catalog.price-buckets=10,100")
+class ProductSearchPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES "
+                + "(1, 'Laptop Pro', 1200.00, 5, 'Electronics'), "
+                + "(2, 'USB Cable', 9.99, 0, 'Electronics'), "
+                + "(3, 'Laptop Stand', 45.00, 12, 'Furniture'), "
+                + "(4, 'Desk Lamp', 25.50, 1, 'Furniture'), "
+                + "(5, 'Notebook', 3.00, 100, 'Books')");
+        jdbcTemplate.update("UPDATE products_seq SET next_val = 56");
+        entityManagerFactory.getCache().evictAll();
+        productService.rebuildCatalog();
+    }
+
+    @Test
+    void cursorChainEndsOnTheLastPage() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = "0";
+        while (cursor != null) {
+            MvcResult result = mockMvc.perform(get("/api/products").param("afterId", cursor).param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+            assertThat(body.has("nextCursor")).isFalse();
+            body.get("products").forEach(product -> seen.add(product.get("id").asLong()));
+            pageSizes.add(body.get("products").size());
+            cursor = result.getResponse().getHeader(ProductController.NEXT_CURSOR_HEADER);
+        }
+        assertThat(pageSizes).containsExactly(2, 2, 1);
+        assertThat(seen).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/products").param("category", "Furniture").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(objectMapper.readTree(result.getResponse().getContentAsString()).get("products")).hasSize(2);
+        assertThat(result.getResponse().getHeader(ProductController.NEXT_CURSOR_HEADER)).isNull();
+    }
+}
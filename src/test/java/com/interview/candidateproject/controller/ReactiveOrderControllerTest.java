@@ -0,0 +1,115 @@
+package com.interview.candidateproject.controller;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import com.interview.candidateproject.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The streaming {@code /api/rx/orders} lookups against a migrated SQLite
+ * database, read back as NDJSON.
+ */
+@SqliteIntegrationTest
+class ReactiveOrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    private Long first;
+
+    private Long second;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 10.00, 50, 'Electronics')");
+        user = userRepository.save(new User("reactive", "reactive@example.com", "Re", "Active"));
+        first = createOrder("R-1", 1);
+        second = createOrder("R-2", 3);
+        orderService.updateOrderStatus(second, OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    void streamsSummariesAsNdjson() throws Exception {
+        String body = stream(get("/api/rx/orders/user/{userId}", user.getId()));
+
+        assertThat(body.lines()).hasSize(2);
+        assertThat(body.lines().findFirst().orElseThrow())
+                .contains("\"id\":" + first, "\"orderNumber\":\"R-1\"", "\"orderStatus\":\"PENDING\"", "\"itemCount\":1");
+    }
+
+    @Test
+    void filtersByStatusDateAndAmount() throws Exception {
+        assertThat(stream(get("/api/rx/orders/status/{status}", OrderStatus.CONFIRMED)).lines())
+                .singleElement().asString().contains("\"id\":" + second);
+        assertThat(stream(get("/api/rx/orders/minimum-amount").param("minAmount", "20")).lines())
+                .singleElement().asString().contains("\"totalAmount\":30");
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(stream(get("/api/rx/orders/date-range")
+                .param("startDate", now.minusHours(1).toString())
+                .param("endDate", now.plusHours(1).toString())).lines()).hasSize(2);
+        assertThat(stream(get("/api/rx/orders/date-range")
+                .param("startDate", now.plusHours(1).toString())
+                .param("endDate", now.plusHours(2).toString()))).isEmpty();
+    }
+
+    private String stream(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private Long createOrder(String orderNumber, int quantity) {
+        Order order = new Order(user, orderNumber, null);
+        order.getOrderItems().add(new OrderItem(order, productRepository.getReferenceById(1L), quantity, null));
+        return orderService.createOrder(order).getId();
+    }
+}
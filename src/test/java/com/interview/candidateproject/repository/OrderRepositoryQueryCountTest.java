@@ -0,0 +1,162 @@
+package com.interview.candidateproject.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.Product;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that order finders load users, items and products in a fixed
+ * number of statements, however many orders come back.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:querycount",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.default_batch_fetch_size=100",
+    // The archive tables come from the SQLite migrations, which H2 does not run
+    "app.orders.archive.enabled=false"
+})
+class OrderRepositoryQueryCountTest {
+
+    private static final int ORDER_COUNT = 500;
+
+    private static final int BATCH_FETCH_SIZE = 100;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+        productRepository.deleteAll();
+
+        User user = userRepository.save(new User("buyer", "buyer@example.com", "Bulk", "Buyer"));
+        userId = user.getId();
+        Product laptop = productRepository.save(new Product("Laptop", "", new BigDecimal("999.99"), 50, "Electronics"));
+        Product mouse = productRepository.save(new Product("Mouse", "", new BigDecimal("29.99"), 100, "Electronics"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ORDER_COUNT; i++) {
+                Order order = new Order(user, "ORD-" + i, new BigDecimal("1029.98"));
+                order.getOrderItems().add(new OrderItem(order, laptop, 1, laptop.getPrice()));
+                order.getOrderItems().add(new OrderItem(order, mouse, 1, mouse.getPrice()));
+                orderRepository.save(order);
+            }
+        });
+    }
+
+    @Test
+    void findByUserIdLoadsWholeGraphInOneQuery() {
+        long statements = countStatements(() -> orderRepository.findByUserId(userId));
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void findByOrderStatusLoadsWholeGraphInOneQuery() {
+        long statements = countStatements(() -> orderRepository.findByOrderStatus(OrderStatus.PENDING));
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void findByOrderDateBetweenLoadsWholeGraphInOneQuery() {
+        long statements = countStatements(() -> orderRepository.findByOrderDateBetween(
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)));
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void keysetPageLoadsWholeGraphInTwoQueries() {
+        long statements = countStatements(() -> orderService.getOrdersPage(0L, ORDER_COUNT).items());
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void streamingAllOrdersTakesTwoQueriesPerWindow() {
+        int window = Integer.parseInt(OrderRepository.STREAM_FETCH_SIZE);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<String> lines = new ArrayList<>();
+        orderService.streamAllOrders(order -> {
+            try {
+                lines.add(objectMapper.writeValueAsString(order));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(lines).hasSize(ORDER_COUNT).allMatch(line -> line.contains("\"Mouse\""));
+        int windows = (ORDER_COUNT + window - 1) / window;
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * windows + 1);
+    }
+
+    @Test
+    void findAllBatchFetchesLazyAssociations() {
+        long statements = countStatements(() -> orderRepository.findAll());
+        assertThat(statements).isLessThanOrEqualTo(1 + 3 * (ORDER_COUNT / BATCH_FETCH_SIZE));
+    }
+
+    /**
+     * Runs the finder and serializes the result inside one transaction, the
+     * way the controller does with open-in-view, and returns the number of
+     * JDBC statements prepared.
+     */
+    private long countStatements(Supplier<List<Order>> finder) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Order> orders = finder.get();
+            assertThat(orders).hasSize(ORDER_COUNT);
+            try {
+                objectMapper.writeValueAsString(orders);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,115 @@
+package com.interview.candidateproject.repository;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each hot repository query against a Flyway-migrated SQLite database
+ * and checks with {@code EXPLAIN QUERY PLAN} that no table is fully scanned.
+ */
+@SqliteIntegrationTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.interview.candidateproject.repository.RepositoryIndexUsageTest$RecordingStatementInspector")
+class RepositoryIndexUsageTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderStatisticRepository orderStatisticRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void resetRecorder() {
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void orderQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertUsesIndexes(() -> orderRepository.findByUserId(1L));
+        assertUsesIndexes(() -> orderRepository.findByOrderStatus(OrderStatus.PENDING));
+        assertUsesIndexes(() -> orderRepository.findByOrderDateBetween(now.minusDays(7), now));
+        assertUsesIndexes(() -> orderRepository.findOrdersWithMinimumAmount(BigDecimal.TEN));
+        assertUsesIndexes(() -> orderRepository.findByOrderNumber("ORD-001"));
+        assertUsesIndexes(() -> orderRepository.countByUserIdAndStatus(1L, OrderStatus.PENDING));
+        assertUsesIndexes(() -> orderRepository.findSummariesByUserId(1L));
+        assertUsesIndexes(() -> orderRepository.findSummariesByOrderStatus(OrderStatus.SHIPPED));
+        assertUsesIndexes(() -> orderRepository.findSummariesByOrderDateBetween(now.minusDays(7), now));
+        assertUsesIndexes(() -> orderRepository.findSummariesWithMinimumAmount(BigDecimal.TEN));
+        assertUsesIndexes(() -> orderRepository.findIdsAfter(0L, Limit.of(100)));
+        assertUsesIndexes(() -> orderRepository.findByIdInOrderByIdAsc(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void statisticQueriesUseIndexes() {
+        LocalDate today = LocalDate.now();
+        assertUsesIndexes(() -> orderStatisticRepository.findDailyRevenue(today.minusDays(30), today));
+        assertUsesIndexes(() -> orderStatisticRepository.findDailyRevenueByStatus(today.minusDays(30), today,
+                OrderStatus.DELIVERED));
+        assertUsesIndexes(() -> orderStatisticRepository.findRevenueByStatus(today.minusDays(30), today));
+    }
+
+    @Test
+    void productQueriesUseIndexes() {
+        assertUsesIndexes(() -> productRepository.findByCategory("Electronics"));
+        assertUsesIndexes(() -> productRepository.findByPriceBetween(BigDecimal.ONE, BigDecimal.TEN));
+        assertUsesIndexes(() -> productRepository.findAvailableProducts());
+        assertUsesIndexes(() -> productRepository.findLowStockProducts(5));
+        assertUsesIndexes(() -> productRepository.findAllCategories());
+    }
+
+    @Test
+    void userQueriesUseIndexes() {
+        assertUsesIndexes(() -> userRepository.findByUsername("john_doe"));
+        assertUsesIndexes(() -> userRepository.findByEmail("john.doe@email.com"));
+        assertUsesIndexes(() -> userRepository.findSummariesAfter(0L, Limit.of(100)));
+    }
+
+    private void assertUsesIndexes(Runnable query) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        query.run();
+        List<String> statements = List.copyOf(RecordingStatementInspector.STATEMENTS);
+        assertThat(statements).isNotEmpty();
+
+        for (String sql : statements) {
+            List<String> plan = jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql, ps -> { },
+                    (rs, rowNum) -> rs.getString("detail"));
+            assertThat(plan)
+                    .as("query plan for %s", sql)
+                    .noneMatch(step -> step.startsWith("SCAN ") && !step.contains("USING COVERING INDEX"));
+        }
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
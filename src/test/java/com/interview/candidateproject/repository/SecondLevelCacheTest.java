@@ -0,0 +1,115 @@
+package com.interview.candidateproject.repository;
+
+import com.interview.candidateproject.entity.Product;
+import com.interview.candidateproject.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that catalog and username lookups are answered from the
+ * second-level cache, and that writes through JPA invalidate them.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:secondlevelcache",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    // The archive tables come from the SQLite migrations, which H2 does not run
+    "app.orders.archive.enabled=false"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long productId;
+
+    @BeforeEach
+    void seed() {
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+
+        productId = productRepository.save(new Product("Laptop", "", new BigDecimal("999.99"), 50, "Electronics")).getId();
+        productRepository.save(new Product("Desk", "", new BigDecimal("199.99"), 10, "Furniture"));
+        userRepository.save(new User("cached", "cached@example.com", "Cached", "User"));
+    }
+
+    @Test
+    void categoryLookupsAreServedFromQueryCacheUntilProductsChange() {
+        assertThat(readOnly(productRepository::findAllCategories)).containsExactlyInAnyOrder("Electronics", "Furniture");
+        assertThat(readOnly(() -> productRepository.findByCategory("Electronics"))).hasSize(1);
+
+        long statements = countStatements(() -> {
+            assertThat(readOnly(productRepository::findAllCategories)).hasSize(2);
+            assertThat(readOnly(() -> productRepository.findByCategory("Electronics"))).hasSize(1);
+        });
+        assertThat(statements).isZero();
+
+        productRepository.save(new Product("Monitor", "", new BigDecimal("249.99"), 5, "Displays"));
+
+        assertThat(readOnly(productRepository::findAllCategories)).contains("Displays");
+    }
+
+    @Test
+    void productsByIdAreServedFromEntityCacheAndRefreshedOnUpdate() {
+        readOnly(() -> productRepository.findById(productId));
+
+        assertThat(countStatements(() -> readOnly(() -> productRepository.findById(productId)))).isZero();
+
+        transactionTemplate.executeWithoutResult(status ->
+                productRepository.findById(productId).orElseThrow().setPrice(new BigDecimal("899.99")));
+
+        assertThat(readOnly(() -> productRepository.findById(productId)).orElseThrow().getPrice())
+                .isEqualByComparingTo("899.99");
+    }
+
+    @Test
+    void usernameLookupIsCachedAndSeesUpdates() {
+        readOnly(() -> userRepository.findByUsername("cached"));
+
+        assertThat(countStatements(() -> readOnly(() -> userRepository.findByUsername("cached")))).isZero();
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findByUsername("cached").orElseThrow().setFirstName("Renamed"));
+
+        assertThat(readOnly(() -> userRepository.findByUsername("cached")).orElseThrow().getFirstName())
+                .isEqualTo("Renamed");
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> work.get());
+    }
+
+    private long countStatements(Runnable work) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,108 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that orders take stock when created and give it back when
+ * cancelled, on a migrated SQLite database.
+ */
+@SqliteIntegrationTest
+class InventoryServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 10.00, 5, 'Electronics')");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (2, 'Mouse', 10.00, 1, 'Electronics')");
+        entityManagerFactory.getCache().evictAll();
+        user = userRepository.save(new User("inventory", "inventory@example.com", "Inven", "Tory"));
+    }
+
+    @Test
+    void createTakesStockAndCancelGivesItBack() {
+        productRepository.findById(1L);
+
+        Order order = orderService.createOrder(order("I-1", 1L, 2, 1L, 1));
+
+        assertThat(productRepository.findById(1L).orElseThrow().getStockQuantity()).isEqualTo(2);
+        orderService.updateOrderStatus(order.getId(), OrderStatus.CANCELLED);
+        assertThat(productRepository.findById(1L).orElseThrow().getStockQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void shortProductRejectsTheWholeOrder() {
+        assertThatThrownBy(() -> orderService.createOrder(order("I-2", 1L, 1, 2L, 2)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessage("Insufficient stock for product 2: 2 requested");
+
+        assertThat(orderRepository.count()).isZero();
+        assertThat(stockOf(1L)).isEqualTo(5);
+        assertThat(stockOf(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void ordersPlacedBeforeReservationReleaseNothing() {
+        Order order = orderService.createOrder(order("I-3", 1L, 1));
+        jdbcTemplate.update("UPDATE orders SET stock_reserved = 0");
+
+        orderService.transitionOrderStatuses(List.of(order.getId()), OrderStatus.CANCELLED);
+
+        assertThat(stockOf(1L)).isEqualTo(4);
+    }
+
+    private Order order(String orderNumber, Object... productsAndQuantities) {
+        Order order = new Order(user, orderNumber, null);
+        for (int i = 0; i < productsAndQuantities.length; i += 2) {
+            order.getOrderItems().add(new OrderItem(order,
+                    productRepository.getReferenceById((Long) productsAndQuantities[i]),
+                    (Integer) productsAndQuantities[i + 1], new BigDecimal("10.00")));
+        }
+        return order;
+    }
+
+    private int stockOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
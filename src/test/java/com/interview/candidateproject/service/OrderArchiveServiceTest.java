@@ -0,0 +1,220 @@
+package com.interview.candidateproject.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.dto.OrderSummary;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Moving old delivered and cancelled orders to the monthly archive partitions,
+ * and reading them back through every lookup that covers the archive, on a
+ * migrated SQLite database.
+ */
+@SqliteIntegrationTest(properties = "app.orders.archive.batch-size=1")
+class OrderArchiveServiceTest {
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.queryForList("SELECT name FROM sqlite_master WHERE type = 'table' AND name LIKE '%archive\\_2%' ESCAPE '\\'",
+                String.class).forEach(table -> jdbcTemplate.execute("DROP TABLE " + table));
+        jdbcTemplate.update("DELETE FROM order_archive_index");
+        jdbcTemplate.update("DELETE FROM order_archive_partitions");
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 10.00, 50, 'Electronics')");
+        entityManagerFactory.getCache().evictAll();
+        user = userRepository.save(new User("archive", "archive@example.com", "Arch", "Ive"));
+    }
+
+    @Test
+    void movesOldFinishedOrdersToMonthlyPartitionsAndStillFindsThem() {
+        Long delivered = createOrder("A-1", now.minusDays(200), OrderStatus.CONFIRMED, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+        createOrder("A-2", now.minusDays(120), OrderStatus.CANCELLED);
+        createOrder("A-3", now.minusDays(150));
+        createOrder("A-4", now.minusDays(10), OrderStatus.CANCELLED);
+
+        assertThat(orderArchiveService.archiveOrders()).isEqualTo(2);
+
+        assertThat(jdbcTemplate.queryForList("SELECT order_number FROM orders ORDER BY id", String.class))
+                .containsExactly("A-3", "A-4");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items", Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_archive_partitions", Long.class)).isEqualTo(2);
+
+        Order archived = orderService.getOrderByOrderNumber("A-1").orElseThrow();
+        assertThat(archived.getId()).isEqualTo(delivered);
+        assertThat(archived.getOrderStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(archived.getUser().getUsername()).isEqualTo("archive");
+        assertThat(archived.getOrderItems()).singleElement()
+                .satisfies(item -> assertThat(item.getProduct().getName()).isEqualTo("Laptop"));
+
+        assertThat(orderService.getOrdersInDateRange(now.minusDays(210), now.minusDays(100)))
+                .extracting(Order::getOrderNumber)
+                .containsExactly("A-1", "A-2", "A-3");
+        assertThat(orderService.getOrdersInDateRange(now.minusDays(130), now.minusDays(100)))
+                .extracting(Order::getOrderNumber)
+                .containsExactly("A-2");
+        assertThat(orderService.getOrderSummariesInDateRange(now.minusDays(210), now.minusDays(100)))
+                .extracting(OrderSummary::orderNumber, OrderSummary::itemCount)
+                .containsExactly(tuple("A-1", 1L), tuple("A-2", 1L), tuple("A-3", 1L));
+
+        assertThat(orderRepository.findExistingOrderNumbers(List.of("A-1", "A-9"))).containsExactly("A-1");
+        assertThatThrownBy(() -> createOrder("A-1", now))
+                .hasMessageContaining("UNIQUE constraint failed: orders.order_number");
+
+        orderStatisticsService.rebuild();
+        assertThat(orderService.countUserOrdersByStatus(user.getId(), OrderStatus.DELIVERED)).isEqualTo(1);
+        assertThat(orderService.countUserOrdersByStatus(user.getId(), OrderStatus.CANCELLED)).isEqualTo(2);
+    }
+
+    @Test
+    void archivedOrdersAreServedByEveryLookup() throws Exception {
+        Long archived = createOrder("L-1", now.minusDays(100), OrderStatus.CANCELLED);
+        Long current = createOrder("L-2", now.minusDays(1), OrderStatus.CANCELLED);
+        String eTag = orderService.getOrderVersion(archived).orElseThrow().eTag();
+        orderArchiveService.archiveOrders();
+        String from = now.minusDays(110).toString();
+        String to = now.toString();
+
+        mockMvc.perform(get("/api/orders/{id}", archived))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(jsonPath("$.orderNumber").value("L-1"))
+                .andExpect(jsonPath("$.orderItems[0].product.name").value("Laptop"));
+        mockMvc.perform(get("/api/orders/{id}", archived).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        for (String expand : List.of("false", "true")) {
+            mockMvc.perform(get("/api/orders/user/{userId}", user.getId()).param("expand", expand))
+                    .andExpect(jsonPath("$[*].id").value(contains(archived.intValue(), current.intValue())));
+            mockMvc.perform(get("/api/orders/status/{status}", OrderStatus.CANCELLED).param("expand", expand))
+                    .andExpect(jsonPath("$[*].id").value(contains(archived.intValue(), current.intValue())));
+        }
+        mockMvc.perform(get("/api/orders/status/{status}", OrderStatus.PENDING))
+                .andExpect(jsonPath("$").isEmpty());
+
+        assertThat(asyncBody(get("/api/orders/export").param("startDate", from).param("endDate", to)).lines())
+                .extracting(line -> line.split(",")[1])
+                .containsExactly("orderNumber", "L-1", "L-2");
+        for (MockHttpServletRequestBuilder request : List.of(
+                get("/api/rx/orders/user/{userId}", user.getId()),
+                get("/api/rx/orders/status/{status}", OrderStatus.CANCELLED),
+                get("/api/rx/orders/date-range").param("startDate", from).param("endDate", to))) {
+            String body = asyncBody(request.accept(MediaType.APPLICATION_NDJSON));
+            assertThat(objectMapper.readerFor(OrderSummary.class).<OrderSummary>readValues(body).readAll())
+                    .extracting(OrderSummary::orderNumber)
+                    .containsExactly("L-1", "L-2");
+        }
+    }
+
+    @Test
+    void statisticsAreRebuiltAtStartupWhenOnlyArchivedOrdersExist() {
+        createOrder("R-1", now.minusDays(100), OrderStatus.CANCELLED);
+        orderArchiveService.archiveOrders();
+        jdbcTemplate.update("DELETE FROM order_stats");
+
+        orderStatisticsService.initialize();
+
+        assertThat(orderService.countUserOrdersByStatus(user.getId(), OrderStatus.CANCELLED)).isEqualTo(1);
+    }
+
+    @Test
+    void deletingAUserDeletesTheirArchivedOrders() {
+        createOrder("D-1", now.minusDays(100), OrderStatus.CANCELLED);
+        orderArchiveService.archiveOrders();
+
+        userService.deleteUser(user.getId());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_archive_index", Long.class)).isZero();
+        assertThat(orderService.getOrdersInDateRange(now.minusDays(110), now)).isEmpty();
+    }
+
+    private String asyncBody(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private Long createOrder(String orderNumber, LocalDateTime orderDate, OrderStatus... statuses) {
+        Order order = new Order(user, orderNumber, null);
+        order.getOrderItems().add(new OrderItem(order, productRepository.getReferenceById(1L), 1, null));
+        Long id = orderService.createOrder(order).getId();
+        jdbcTemplate.update("UPDATE orders SET order_date = ? WHERE id = ?", Timestamp.valueOf(orderDate), id);
+        for (OrderStatus status : statuses) {
+            orderService.updateOrderStatus(id, status);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,144 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.dto.OrderEvent;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.OrderOutboxEntry.EventType;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderOutboxRepository;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Checks that order changes write outbox events in their own transaction and
+ * that the dispatcher delivers them in order, at least once. The background
+ * thread is off; the test drains the outbox itself.
+ */
+@SqliteIntegrationTest(properties = "app.outbox.dispatcher.enabled=false")
+class OrderEventOutboxTest {
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements OrderEventSink {
+
+        final List<OrderEvent> events = new CopyOnWriteArrayList<>();
+
+        volatile boolean failing;
+
+        @Override
+        public void publish(List<OrderEvent> batch) {
+            if (failing) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            events.addAll(batch);
+        }
+    }
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventDispatcher dispatcher;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_outbox");
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 10.00, 5, 'Electronics')");
+        user = userRepository.save(new User("outbox", "outbox@example.com", "Out", "Box"));
+        sink.events.clear();
+        sink.failing = false;
+    }
+
+    @Test
+    void deliversLifecycleEventsInOrder() {
+        Order first = createOrder("E-1", 1);
+        Order second = createOrder("E-2", 1);
+        orderService.updateOrderStatus(first.getId(), OrderStatus.CONFIRMED);
+        orderService.transitionOrderStatuses(List.of(first.getId(), second.getId()), OrderStatus.CANCELLED);
+
+        assertThatThrownBy(() -> createOrder("E-3", 10)).isInstanceOf(InsufficientStockException.class);
+        assertThat(dispatcher.dispatchPending()).isEqualTo(5);
+
+        assertThat(sink.events)
+                .extracting(OrderEvent::orderId, OrderEvent::eventType, OrderEvent::previousStatus,
+                        OrderEvent::orderStatus, OrderEvent::orderVersion)
+                .containsExactly(
+                        tuple(first.getId(), EventType.ORDER_CREATED, null, OrderStatus.PENDING, 0L),
+                        tuple(second.getId(), EventType.ORDER_CREATED, null, OrderStatus.PENDING, 0L),
+                        tuple(first.getId(), EventType.ORDER_STATUS_CHANGED, OrderStatus.PENDING, OrderStatus.CONFIRMED, 1L),
+                        tuple(second.getId(), EventType.ORDER_STATUS_CHANGED, OrderStatus.PENDING, OrderStatus.CANCELLED, 1L),
+                        tuple(first.getId(), EventType.ORDER_STATUS_CHANGED, OrderStatus.CONFIRMED, OrderStatus.CANCELLED, 2L));
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void failedBatchStaysInTheOutboxUntilDelivered() {
+        Order order = createOrder("E-4", 1);
+        sink.failing = true;
+
+        assertThatThrownBy(() -> dispatcher.dispatchPending()).hasMessage("sink unavailable");
+        assertThat(outboxRepository.findAll())
+                .extracting(entry -> entry.getOrderId(), entry -> entry.getAttempts())
+                .containsExactly(tuple(order.getId(), 1));
+
+        sink.failing = false;
+        assertThat(dispatcher.dispatchPending()).isEqualTo(1);
+        assertThat(sink.events).extracting(OrderEvent::orderId).containsExactly(order.getId());
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private Order createOrder(String orderNumber, int quantity) {
+        Order order = new Order(user, orderNumber, null);
+        order.getOrderItems().add(new OrderItem(order, productRepository.getReferenceById(1L), quantity, null));
+        return orderService.createOrder(order);
+    }
+}
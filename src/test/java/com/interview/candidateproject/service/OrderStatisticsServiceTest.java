@@ -0,0 +1,159 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.dto.DailyRevenue;
+import com.interview.candidateproject.dto.StatusRevenue;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.OrderStatistic;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.OrderStatisticRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Checks that the order statistics aggregate follows order writes and
+ * matches a full rebuild, on a migrated SQLite database.
+ */
+@SqliteIntegrationTest
+class OrderStatisticsServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+
+    @Autowired
+    private OrderStatisticRepository orderStatisticRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 10.00, 50, 'Electronics')");
+        entityManagerFactory.getCache().evictAll();
+        user = userRepository.save(new User("stats", "stats@example.com", "Stats", "User"));
+    }
+
+    @Test
+    void aggregateFollowsCreatesAndStatusChanges() {
+        Order first = createOrder("S-1", "10.00");
+        createOrder("S-2", "20.00");
+        createOrder("S-3", "30.00");
+        orderService.updateOrderStatus(first.getId(), OrderStatus.CONFIRMED);
+
+        LocalDate today = first.getOrderDate().toLocalDate();
+        assertThat(orderService.countUserOrdersByStatus(user.getId(), OrderStatus.PENDING)).isEqualTo(2);
+        assertThat(orderService.countUserOrdersByStatus(user.getId(), OrderStatus.CONFIRMED)).isEqualTo(1);
+
+        List<DailyRevenue> daily = orderStatisticsService.getDailyRevenue(today.minusDays(1), today, null);
+        assertThat(daily).extracting(DailyRevenue::day, DailyRevenue::orderCount).containsExactly(tuple(today, 3L));
+        assertThat(daily.get(0).totalAmount()).isEqualByComparingTo("60.00");
+        assertThat(orderStatisticsService.getDailyRevenue(today, today, OrderStatus.CONFIRMED).get(0).totalAmount())
+                .isEqualByComparingTo("10.00");
+
+        List<StatusRevenue> byStatus = orderStatisticsService.getRevenueByStatus(today, today);
+        assertThat(byStatus).extracting(StatusRevenue::orderStatus, StatusRevenue::orderCount)
+                .containsExactly(tuple(OrderStatus.CONFIRMED, 1L), tuple(OrderStatus.PENDING, 2L));
+        assertThat(byStatus.get(1).totalAmount()).isEqualByComparingTo("50.00");
+
+        List<String> incremental = snapshot();
+        assertThat(orderStatisticsService.rebuild()).isEqualTo(2);
+        assertThat(snapshot()).isEqualTo(incremental);
+    }
+
+    @Test
+    void fractionalAmountsAddUpExactly() {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        for (int i = 0; i < 10; i++) {
+            transactionTemplate.executeWithoutResult(status -> orderStatisticRepository.addToBucket(
+                    user.getId(), OrderStatus.PENDING.name(), day, 1, Money.toCents(new BigDecimal("0.10"))));
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT typeof(total_cents) FROM order_stats", String.class))
+                .isEqualTo("integer");
+        assertThat(orderStatisticsService.getDailyRevenue(day, day, null))
+                .containsExactly(new DailyRevenue(day, 10, new BigDecimal("1.00")));
+    }
+
+    @Test
+    void aggregateWritesDoNotInvalidateCatalogQueryCache() {
+        productRepository.findAllCategories();
+        createOrder("S-4", "10.00");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        productRepository.findAllCategories();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deletingUserDropsTheirStatistics() {
+        createOrder("S-5", "10.00");
+
+        userService.deleteUser(user.getId());
+
+        assertThat(orderStatisticRepository.count()).isZero();
+    }
+
+    private Order createOrder(String orderNumber, String amount) {
+        // The product costs 10.00, so the amount picks the quantity
+        Order order = new Order(user, orderNumber, new BigDecimal(amount));
+        int quantity = new BigDecimal(amount).divide(BigDecimal.TEN).intValueExact();
+        order.getOrderItems().add(new OrderItem(order, productRepository.getReferenceById(1L), quantity, BigDecimal.TEN));
+        return orderService.createOrder(order);
+    }
+
+    private List<String> snapshot() {
+        return orderStatisticRepository.findAll().stream()
+                .sorted(Comparator.comparing((OrderStatistic s) -> s.getId().getOrderStatus()))
+                .map(s -> s.getId().getUserId() + "/" + s.getId().getOrderStatus() + "/" + s.getId().getOrderDay()
+                        + "=" + s.getOrderCount() + "/" + s.getTotalCents())
+                .toList();
+    }
+}
@@ -0,0 +1,104 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.dto.OrderStatusTransitionReport;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.Order.OrderStatus;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Checks the order status state machine and the conditional and set-based
+ * status updates on a migrated SQLite database.
+ */
+@SqliteIntegrationTest
+class OrderStatusTransitionTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES (1, 'Laptop', 10.00, 50, 'Electronics')");
+        user = userRepository.save(new User("transitions", "transitions@example.com", "Trans", "Itions"));
+    }
+
+    @Test
+    void singleTransitionBumpsVersionAndEnforcesStateMachine() {
+        Order order = createOrder("T-1");
+
+        Order confirmed = orderService.updateOrderStatus(order.getId(), OrderStatus.CONFIRMED);
+
+        assertThat(confirmed.getOrderStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(confirmed.getVersion()).isEqualTo(order.getVersion() + 1);
+        assertThatThrownBy(() -> orderService.updateOrderStatus(order.getId(), OrderStatus.DELIVERED))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Cannot change order status from CONFIRMED to DELIVERED");
+        assertThat(orderService.updateOrderStatus(order.getId(), OrderStatus.CONFIRMED).getVersion())
+                .isEqualTo(confirmed.getVersion());
+    }
+
+    @Test
+    void bulkTransitionMovesValidOrdersAndReportsTheRest() {
+        Order pending = createOrder("T-2");
+        Order confirmed = createOrder("T-3");
+        Order shipped = createOrder("T-4");
+        orderService.updateOrderStatus(confirmed.getId(), OrderStatus.CONFIRMED);
+        orderService.updateOrderStatus(shipped.getId(), OrderStatus.CONFIRMED);
+        orderService.updateOrderStatus(shipped.getId(), OrderStatus.SHIPPED);
+
+        OrderStatusTransitionReport report = orderService.transitionOrderStatuses(
+                List.of(pending.getId(), confirmed.getId(), shipped.getId(), confirmed.getId(), -1L),
+                OrderStatus.SHIPPED);
+
+        assertThat(report.requested()).isEqualTo(4);
+        assertThat(report.updated()).isEqualTo(1);
+        assertThat(report.unchanged()).isEqualTo(1);
+        assertThat(report.rejected())
+                .extracting(OrderStatusTransitionReport.Rejected::orderId, OrderStatusTransitionReport.Rejected::currentStatus)
+                .containsExactly(tuple(pending.getId(), OrderStatus.PENDING), tuple(-1L, null));
+        assertThat(orderRepository.findById(confirmed.getId()).orElseThrow().getOrderStatus())
+                .isEqualTo(OrderStatus.SHIPPED);
+        assertThat(orderService.countUserOrdersByStatus(user.getId(), OrderStatus.SHIPPED)).isEqualTo(2);
+        assertThat(orderService.countUserOrdersByStatus(user.getId(), OrderStatus.CONFIRMED)).isZero();
+    }
+
+    private Order createOrder(String orderNumber) {
+        Order order = new Order(user, orderNumber, new BigDecimal("10.00"));
+        order.getOrderItems().add(new OrderItem(order, productRepository.getReferenceById(1L), 1, new BigDecimal("10.00")));
+        return orderService.createOrder(order);
+    }
+}
@@ -0,0 +1,124 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.dto.ProductSearchCriteria;
+import com.interview.candidateproject.dto.ProductSearchResult;
+import com.interview.candidateproject.dto.ProductSearchResult.PriceBucket;
+import com.interview.candidateproject.dto.ProductSummary;
+import com.interview.candidateproject.entity.Order;
+import com.interview.candidateproject.entity.OrderItem;
+import com.interview.candidateproject.entity.Product;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.OrderRepository;
+import com.interview.candidateproject.repository.ProductRepository;
+import com.interview.candidateproject.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Combined filters, facet counts and incremental refresh of the in-memory
+ * product catalog on a migrated SQLite database.
+ */
+@SqliteIntegrationTest(properties = "app.catalog.price-buckets=10,100")
+class ProductCatalogTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM order_stats");
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category) VALUES "
+                + "(1, 'Laptop Pro', 1200.00, 5, 'Electronics'), "
+                + "(2, 'USB Cable', 9.99, 0, 'Electronics'), "
+                + "(3, 'Laptop Stand', 45.00, 12, 'Furniture'), "
+                + "(4, 'Desk Lamp', 25.50, 1, 'Furniture'), "
+                + "(5, 'Notebook', 3.00, 100, 'Books')");
+        jdbcTemplate.update("UPDATE products_seq SET next_val = 56");
+        entityManagerFactory.getCache().evictAll();
+        productService.rebuildCatalog();
+    }
+
+    @Test
+    void combinesFiltersAndCountsEachFacetWithoutItsOwnFilter() {
+        ProductSearchResult result = search(new ProductSearchCriteria(
+                "Electronics", new BigDecimal("10.00"), null, true, "LAPTOP"));
+
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.products()).extracting(ProductSummary::id).containsExactly(1L);
+        assertThat(result.products().get(0).price()).isEqualByComparingTo("1200.00");
+        // In stock, named laptop and from 10.00, in any category
+        assertThat(result.categories()).isEqualTo(Map.of("Electronics", 1L, "Furniture", 1L));
+        // In stock, named laptop and in Electronics, at any price
+        assertThat(result.priceBuckets()).extracting(PriceBucket::count).containsExactly(0L, 0L, 1L);
+        assertThat(result.priceBuckets().get(2).to()).isNull();
+
+        ProductSearchResult cut = search(new ProductSearchCriteria(
+                null, new BigDecimal("9.99"), new BigDecimal("25.50"), false, null));
+        assertThat(cut.products()).extracting(ProductSummary::id).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void pagesByIdAfterTheCursor() {
+        ProductSearchCriteria all = new ProductSearchCriteria(null, null, null, false, null);
+
+        ProductSearchResult page = productService.searchProducts(all, 2L, 2);
+
+        assertThat(page.total()).isEqualTo(5);
+        assertThat(page.products()).extracting(ProductSummary::id).containsExactly(3L, 4L);
+        assertThat(page.nextCursor()).isEqualTo(4L);
+        assertThat(productService.searchProducts(all, 4L, 2).nextCursor()).isNull();
+    }
+
+    @Test
+    void picksUpCommittedChangesWithoutAReload() {
+        User user = userRepository.save(new User("catalog", "catalog@example.com", "Cata", "Log"));
+        Order order = new Order(user, "P-1", null);
+        order.getOrderItems().add(new OrderItem(order, productRepository.getReferenceById(4L), 1, null));
+        orderService.createOrder(order);
+
+        Product created = productService.createProduct(
+                new Product("Laptop Sleeve", null, new BigDecimal("19.00"), 3, "Electronics"));
+        Product moved = new Product("Laptop Stand", null, new BigDecimal("45.00"), 12, "Electronics");
+        productService.updateProduct(3L, moved);
+
+        ProductSearchResult inStock = search(new ProductSearchCriteria(null, null, null, true, null));
+        assertThat(inStock.products()).extracting(ProductSummary::id)
+                .containsExactly(1L, 3L, 5L, created.getId());
+        assertThat(inStock.categories()).isEqualTo(Map.of("Electronics", 3L, "Books", 1L));
+    }
+
+    private ProductSearchResult search(ProductSearchCriteria criteria) {
+        return productService.searchProducts(criteria, 0L, 100);
+    }
+}
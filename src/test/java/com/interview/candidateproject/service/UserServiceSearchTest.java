@@ -0,0 +1,86 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises the FTS5-backed name search against a migrated SQLite database.
+ */
+@SqliteIntegrationTest(properties = "app.search.max-results=2")
+class UserServiceSearchTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void seed() {
+        userRepository.deleteAll();
+        userRepository.save(new User("john_doe", "john.doe@email.com", "John", "Doe"));
+        userRepository.save(new User("jane_johnson", "jane.johnson@email.com", "Jane", "Johnson"));
+        userRepository.save(new User("bob_wilson", "bob.wilson@email.com", "Bob", "Wilson"));
+    }
+
+    @Test
+    void matchesPartialNamesCaseInsensitively() {
+        assertThat(usernames(userService.searchUsersByName("ILSO")))
+                .containsExactly("bob_wilson");
+        assertThat(usernames(userService.searchUsersByName("john")))
+                .containsExactlyInAnyOrder("john_doe", "jane_johnson");
+    }
+
+    @Test
+    void shortTermsFallBackToLikeSearch() {
+        assertThat(usernames(userService.searchUsersByName("bo")))
+                .containsExactly("bob_wilson");
+    }
+
+    @Test
+    void shortTermsMatchWildcardsLiterally() {
+        userRepository.save(new User("percent", "percent@email.com", "100%", "Sure"));
+
+        assertThat(usernames(userService.searchUsersByName("%"))).containsExactly("percent");
+        assertThat(userService.searchUsersByName("_")).isEmpty();
+        assertThat(userService.searchUsersByName("j%e")).isEmpty();
+    }
+
+    @Test
+    void shortTermsMustEachMatchAName() {
+        assertThat(usernames(userService.searchUsersByName("jo do")))
+                .containsExactly("john_doe");
+        assertThat(usernames(userService.searchUsersByName("Ja JO")))
+                .containsExactly("jane_johnson");
+        assertThat(userService.searchUsersByName("bo do")).isEmpty();
+    }
+
+    @Test
+    void capsResultsAtConfiguredMaximum() {
+        assertThat(userService.searchUsersByName("o", 100)).hasSize(2);
+    }
+
+    @Test
+    void indexFollowsUpdatesAndDeletes() {
+        User bob = userRepository.findByUsername("bob_wilson").orElseThrow();
+        bob.setLastName("Marley");
+        userRepository.save(bob);
+        assertThat(userService.searchUsersByName("wilson")).isEmpty();
+        assertThat(usernames(userService.searchUsersByName("marley"))).containsExactly("bob_wilson");
+
+        userRepository.delete(bob);
+        assertThat(userService.searchUsersByName("marley")).isEmpty();
+    }
+
+    private static List<String> usernames(List<User> users) {
+        return users.stream().map(User::getUsername).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.interview.candidateproject.service;
+
+import com.interview.candidateproject.SqliteIntegrationTest;
+import com.interview.candidateproject.entity.User;
+import com.interview.candidateproject.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Username and email uniqueness on user creation and update: probes skipped
+ * for keys the filters have never seen, and the unique constraints as the
+ * final check, on a migrated SQLite database.
+ */
+@SqliteIntegrationTest
+class UserUniquenessTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserUniquenessGuard uniquenessGuard;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void seed() {
+        userRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+        userRepository.save(new User("taken", "taken@example.com", "Ta", "Ken"));
+        uniquenessGuard.load();
+    }
+
+    @Test
+    void newUserCostsNoProbeAndTakenKeysAreRejected() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        userService.createUser(new User("fresh", "fresh@example.com", "Fr", "Esh"));
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> userService.createUser(new User("fresh", "other@example.com", "Fr", "Esh")))
+                .isInstanceOf(DuplicateUserException.class)
+                .hasMessage("Username already exists");
+        assertThatThrownBy(() -> userService.createUser(new User("other", "taken@example.com", "Ot", "Her")))
+                .isInstanceOf(DuplicateUserException.class)
+                .hasMessage("Email already exists");
+    }
+
+    @Test
+    void uniqueConstraintCatchesKeysTheFiltersHaveNotSeen() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, first_name, last_name) "
+                + "VALUES (9000, 'outside', 'outside@example.com', 'Out', 'Side')");
+
+        assertThatThrownBy(() -> userService.createUser(new User("outside", "new@example.com", "Ne", "W")))
+                .isInstanceOf(DuplicateUserException.class)
+                .hasMessage("Username already exists");
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"inside\",\"email\":\"outside@example.com\",\"firstName\":\"In\",\"lastName\":\"Side\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("X-Error-Message", "Email already exists"));
+
+        User taken = userRepository.findByUsername("taken").orElseThrow();
+        assertThatThrownBy(() -> userService.updateUser(taken.getId(),
+                new User("taken", "outside@example.com", "Ta", "Ken")))
+                .isInstanceOf(DuplicateUserException.class)
+                .hasMessage("Email already exists");
+    }
+
+    @Test
+    void createAndUpdateAnswerConflictForTakenKeys() throws Exception {
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"taken\",\"email\":\"free@example.com\",\"firstName\":\"Fr\",\"lastName\":\"Ee\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("X-Error-Message", "Username already exists"));
+
+        User other = userService.createUser(new User("other", "other@example.com", "Ot", "Her"));
+        mockMvc.perform(put("/api/users/{id}", other.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"other\",\"email\":\"taken@example.com\",\"firstName\":\"Ot\",\"lastName\":\"Her\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("X-Error-Message", "Email already exists"));
+
+        assertThat(userRepository.findById(other.getId()).orElseThrow().getEmail()).isEqualTo("other@example.com");
+        assertThat(userRepository.count()).isEqualTo(2);
+    }
+}